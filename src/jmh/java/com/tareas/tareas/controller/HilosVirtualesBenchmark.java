@@ -0,0 +1,113 @@
+package com.tareas.tareas.controller;
+
+import com.tareas.tareas.TareasApplication;
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import com.tareas.tareas.domain.usuario.UsuarioService;
+import com.tareas.tareas.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Endpoints de /tareas con 400 clientes concurrentes (mas que los 200 hilos de Tomcat por defecto),
+// atendidos por el pool de hilos de plataforma o por hilos virtuales (spring.threads.virtual.enabled).
+// Mismo pool de conexiones en los dos casos: mide cuanto cambia el throughput solo por el modelo de hilos.
+// Usa la base de las variables DB_* igual que la aplicacion; crea un usuario de prueba y lo borra al final.
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="HilosVirtualesBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+public class HilosVirtualesBenchmark {
+
+    private static final int TAREAS = 200;
+
+    @Param({"false", "true"})
+    public boolean hilosVirtuales;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String base;
+    private String token;
+    private Long usuarioId;
+    private Long tareaId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(TareasApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "logging.level.root=WARN")
+                .run();
+        base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        var email = "hilos" + System.nanoTime() + "@gmail.com";
+        contexto.getBean(UsuarioService.class).crearUsuario(
+                new DatosCrearUsuario("Hilos", "Benchmark", email, "clave-de-benchmark", new ArrayList<>()));
+        var usuario = contexto.getBean(UsuarioRepository.class).findByEmail(email);
+        usuarioId = usuario.getId();
+        token = contexto.getBean(TokenService.class).generarToken(usuario);
+
+        var tareaService = contexto.getBean(TareaService.class);
+        var importancias = Importancia.values();
+        for (int i = 0; i < TAREAS; i++) {
+            var tarea = tareaService.crearTarea(new DatosCrearTarea(
+                    "Tarea " + i, "Descripcion de la tarea " + i, importancias[i % importancias.length], i % 30 + 1, null, null), usuario);
+            tareaId = tarea.id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        contexto.getBean(UsuarioService.class).eliminarUsuario(usuarioId);
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listarTareas() throws Exception {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/tareas?tamanio=20")).GET());
+    }
+
+    @Benchmark
+    public int buscarTarea() throws Exception {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/tareas/" + tareaId)).GET());
+    }
+
+    @Benchmark
+    public int filtrarTareas() throws Exception {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/tareas/filtrar"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"importancia\":\"ALTA\",\"soloVencidas\":false}")));
+    }
+
+    @Benchmark
+    public int obtenerEstadisticas() throws Exception {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/tareas/estadisticas")).GET());
+    }
+
+    private int enviar(HttpRequest.Builder request) throws Exception {
+        var respuesta = cliente.send(request.header("Authorization", "Bearer " + token).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("Respuesta inesperada: " + respuesta.statusCode());
+        }
+        return respuesta.statusCode();
+    }
+}
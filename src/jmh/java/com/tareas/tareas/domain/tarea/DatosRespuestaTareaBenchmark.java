@@ -0,0 +1,34 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Armado de las respuestas (DatosRespuestaTarea) de 1k, 10k y 100k tareas ya cargadas en memoria:
+// la parte de GET /tareas y POST /tareas/filtrar que no es la consulta. Incluye estaVencida()
+// y diasRestantes(), que se calculan para cada tarea
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DatosRespuestaTareaBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatosRespuestaTareaBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int tareas;
+
+    private List<Tarea> lista;
+
+    @Setup
+    public void preparar() {
+        lista = TareasSinteticas.enMemoria(tareas);
+    }
+
+    @Benchmark
+    public List<DatosRespuestaTarea> construir() {
+        return lista.stream().map(DatosRespuestaTarea::new).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TareaService.filtrarTareas (POST /tareas/filtrar sin paginar) con cada filtro y cada orden,
+// sobre 1k, 10k y 100k tareas de un usuario (ver TareasSinteticas). Mide la consulta completa:
+// SQL, proyeccion a VistaTarea y armado de la respuesta.
+// Son 144 combinaciones; para seguir solo algunas se fijan los parametros con -p, por ejemplo:
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="FiltrarTareasBenchmark -p tareas=100000 -p orden=inteligente"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class FiltrarTareasBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int tareas;
+
+    @Param({"ninguno", "busqueda", "estado", "importancia", "fechas", "vencidas", "duracion", "combinado"})
+    public String filtro;
+
+    @Param({"inteligente", "fechaVencimiento", "fechaCreacion", "importancia", "nombre", "id"})
+    public String orden;
+
+    private TareasSinteticas datos;
+    private TareaService tareaService;
+    private DatosFiltroTarea filtroTarea;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        datos = TareasSinteticas.crear(tareas);
+        tareaService = datos.bean(TareaService.class);
+        filtroTarea = filtro(filtro, "inteligente".equals(orden) ? null : orden);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        datos.close();
+    }
+
+    @Benchmark
+    public List<DatosRespuestaTarea> filtrarTareas() {
+        return tareaService.filtrarTareas(filtroTarea, datos.usuario());
+    }
+
+    private static DatosFiltroTarea filtro(String nombre, String ordenarPor) {
+        var hoy = LocalDate.now();
+        return switch (nombre) {
+            case "ninguno" -> new DatosFiltroTarea(null, null, null, null, null, false, null, ordenarPor, "ASC");
+            case "busqueda" -> new DatosFiltroTarea("informe", null, null, null, null, false, null, ordenarPor, "ASC");
+            case "estado" -> new DatosFiltroTarea(null, Estado.PENDIENTE, null, null, null, false, null, ordenarPor, "ASC");
+            case "importancia" -> new DatosFiltroTarea(null, null, Importancia.ALTA, null, null, false, null, ordenarPor, "ASC");
+            case "fechas" -> new DatosFiltroTarea(null, null, null, hoy, hoy.plusDays(14), false, null, ordenarPor, "ASC");
+            case "vencidas" -> new DatosFiltroTarea(null, null, null, null, null, true, null, ordenarPor, "ASC");
+            case "duracion" -> new DatosFiltroTarea(null, null, null, null, null, false, 7, ordenarPor, "ASC");
+            case "combinado" -> new DatosFiltroTarea(
+                    "informe", Estado.PENDIENTE, Importancia.ALTA, null, hoy.plusDays(30), false, null, ordenarPor, "ASC");
+            default -> throw new IllegalArgumentException("Filtro desconocido: " + nombre);
+        };
+    }
+}
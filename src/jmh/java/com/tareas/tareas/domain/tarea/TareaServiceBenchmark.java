@@ -0,0 +1,58 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Lecturas de TareaService que no dependen de un filtro, sobre 1k, 10k y 100k tareas (ver TareasSinteticas):
+//   obtenerEstadisticas: GET /tareas/estadisticas, lee la fila de contadores del usuario
+//   recalcularEstadisticas: la agregacion sobre la tabla de tareas que usan el corte diario y la conciliacion
+//   primeraPaginaInteligente: primeras 20 tareas en el orden inteligente (el que antes hacia
+//   obtenerComparadorInteligente en memoria y ahora resuelve la base, ver OrdenTarea)
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TareaServiceBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TareaServiceBenchmark {
+
+    private static final DatosFiltroTarea SIN_FILTRO =
+            new DatosFiltroTarea(null, null, null, null, null, false, null, null, null);
+
+    @Param({"1000", "10000", "100000"})
+    public int tareas;
+
+    private TareasSinteticas datos;
+    private TareaService tareaService;
+    private EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        datos = TareasSinteticas.crear(tareas);
+        tareaService = datos.bean(TareaService.class);
+        estadisticaUsuarioService = datos.bean(EstadisticaUsuarioService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        datos.close();
+    }
+
+    @Benchmark
+    public DatosEstadisticasTarea obtenerEstadisticas() {
+        return tareaService.obtenerEstadisticas(datos.usuario());
+    }
+
+    @Benchmark
+    public EstadisticaUsuario recalcularEstadisticas() {
+        return estadisticaUsuarioService.recalcular(datos.usuario().getId(), LocalDate.now());
+    }
+
+    @Benchmark
+    public DatosPaginaTarea primeraPaginaInteligente() {
+        return tareaService.filtrarTareasPaginadas(SIN_FILTRO, datos.usuario(), null, 20);
+    }
+}
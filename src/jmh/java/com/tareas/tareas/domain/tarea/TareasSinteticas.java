@@ -0,0 +1,102 @@
+package com.tareas.tareas.domain.tarea;
+
+import com.tareas.tareas.TareasApplication;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import com.tareas.tareas.domain.usuario.UsuarioService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// Conjunto de tareas generadas para los benchmarks del dominio, siempre con la misma distribucion:
+//   estado: PENDIENTE, EN_PROGRESO, COMPLETADA, CANCELADA en rotacion (la mitad terminadas)
+//   importancia: ALTA, MEDIA, BAJA en rotacion
+//   vencimiento: de 20 dias atras a 39 dias adelante, una de cada 10 sin fecha
+//   descripcion: una de cada 7 contiene "informe" (para el filtro de busqueda)
+// crear() levanta la aplicacion contra la base de las variables DB_* y carga las tareas a un usuario nuevo
+// con un solo INSERT ... SELECT; close() borra el usuario (y sus tareas) y cierra la aplicacion
+final class TareasSinteticas implements AutoCloseable {
+
+    private final ConfigurableApplicationContext contexto;
+    private final Usuario usuario;
+
+    private TareasSinteticas(ConfigurableApplicationContext contexto, Usuario usuario) {
+        this.contexto = contexto;
+        this.usuario = usuario;
+    }
+
+    static TareasSinteticas crear(int cantidad) {
+        var contexto = new SpringApplicationBuilder(TareasApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+
+        var email = "sinteticas" + System.nanoTime() + "@gmail.com";
+        contexto.getBean(UsuarioService.class).crearUsuario(
+                new DatosCrearUsuario("Tareas", "Sinteticas", email, "clave-de-benchmark", new ArrayList<>()));
+        var usuario = contexto.getBean(UsuarioRepository.class).findByEmail(email);
+
+        var jdbc = contexto.getBean(JdbcTemplate.class);
+        jdbc.update("""
+                INSERT INTO tareas (id, nombre, descripcion, fecha_creacion, fecha_vencimiento, fecha_finalizacion,
+                                    duracion_dias, estado, importancia, usuario_id)
+                SELECT nextval('tareas_id_seq'),
+                       'Tarea ' || i,
+                       CASE WHEN i % 7 = 0 THEN 'Preparar informe ' || i ELSE 'Descripcion de la tarea ' || i END,
+                       localtimestamp - make_interval(secs => i),
+                       CASE WHEN i % 10 = 0 THEN NULL ELSE current_date + (i % 60 - 20) END,
+                       CASE WHEN i % 4 = 2 THEN localtimestamp - make_interval(secs => i) END,
+                       CASE WHEN i % 10 = 0 THEN NULL ELSE i % 30 + 1 END,
+                       (ARRAY['PENDIENTE', 'EN_PROGRESO', 'COMPLETADA', 'CANCELADA'])[i % 4 + 1],
+                       (ARRAY['ALTA', 'MEDIA', 'BAJA'])[i % 3 + 1],
+                       ?
+                FROM generate_series(1, ?) AS i
+                """, usuario.getId(), cantidad);
+        // estadisticas del planificador al dia, como las tendria una tabla que crecio de a poco
+        jdbc.execute("ANALYZE tareas");
+        contexto.getBean(EstadisticaUsuarioService.class).recalcular(usuario.getId(), LocalDate.now());
+
+        return new TareasSinteticas(contexto, usuario);
+    }
+
+    // las mismas tareas que crear(), armadas en memoria sin base de datos
+    static List<Tarea> enMemoria(int cantidad) {
+        var ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        var hoy = LocalDate.now();
+        List<Tarea> tareas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            var tarea = new Tarea();
+            tarea.setId((long) i);
+            tarea.setNombre("Tarea " + i);
+            tarea.setDescripcion(i % 7 == 0 ? "Preparar informe " + i : "Descripcion de la tarea " + i);
+            tarea.setFechaCreacion(ahora.minusSeconds(i));
+            tarea.setFechaVencimiento(i % 10 == 0 ? null : hoy.plusDays(i % 60 - 20));
+            tarea.setFechaFinalizacion(i % 4 == 2 ? ahora.minusSeconds(i) : null);
+            tarea.setDuracionDias(i % 10 == 0 ? null : i % 30 + 1);
+            tarea.setEstado(Estado.values()[i % 4]);
+            tarea.setImportancia(Importancia.values()[i % 3]);
+            tareas.add(tarea);
+        }
+        return tareas;
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    Usuario usuario() {
+        return usuario;
+    }
+
+    @Override
+    public void close() {
+        contexto.getBean(UsuarioService.class).eliminarUsuario(usuario.getId());
+        contexto.close();
+    }
+}
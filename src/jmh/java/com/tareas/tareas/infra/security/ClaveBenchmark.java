@@ -0,0 +1,57 @@
+package com.tareas.tareas.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Logins por segundo segun el costo de BCrypt (api.security.bcrypt.costo), con 8 logins simultaneos:
+//   verificar: el encoder de SecurityConfiguration, con el pool acotado (api.security.bcrypt.hilos, aca la mitad
+//              de los procesadores), lo que cuesta cada POST /auth/login
+//   verificarSinLimite: BCrypt directo en los 8 hilos, lo que pasaba antes del pool acotado
+// Cada punto de costo duplica el tiempo: el pool no cambia cuantos logins se atienden por segundo, cambia cuanta
+// CPU les queda a los demas endpoints mientras tanto.
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ClaveBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(8)
+@Fork(1)
+public class ClaveBenchmark {
+
+    private static final String CLAVE = "password123";
+
+    @Param({"8", "10", "12"})
+    private int costo;
+
+    private PasswordEncoder encoder;
+    private PasswordEncoder sinLimite;
+    private String claveEncriptada;
+    private String claveSinPrefijo;
+
+    @Setup
+    public void preparar() {
+        encoder = new SecurityConfiguration().passwordEncoder(new SimpleMeterRegistry(), costo, 0, 200);
+        sinLimite = new BCryptCostoFijo(costo);
+        claveEncriptada = encoder.encode(CLAVE);
+        claveSinPrefijo = sinLimite.encode(CLAVE);
+    }
+
+    @TearDown
+    public void cerrar() throws Exception {
+        ((AutoCloseable) encoder).close();
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches(CLAVE, claveEncriptada);
+    }
+
+    @Benchmark
+    public boolean verificarSinLimite() {
+        return sinLimite.matches(CLAVE, claveSinPrefijo);
+    }
+}
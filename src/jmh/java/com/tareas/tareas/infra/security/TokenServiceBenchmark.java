@@ -0,0 +1,64 @@
+package com.tareas.tareas.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Firma de un token (login) y verificacion de un token por request, antes y despues de reutilizar el verificador:
+//   firmar: generarToken, lo que cuesta cada POST /login
+//   verificadorPorLlamada: lo que hacia getSubject antes (arma Algorithm y JWTVerifier en cada llamada)
+//   verificadorReutilizado: verificador armado una sola vez, sin la cache de tokens
+//   tokenEnCache: getSubject con un token que ya se verifico antes (el caso normal de un cliente)
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TokenServiceBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRETO = "secreto-de-benchmark";
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService();
+        tokenService.configurarSecreto(SECRETO);
+        usuario = new Usuario(1L, "ema", "clementi", "ema@gmail.com", "clave", Role.USER, null);
+        token = tokenService.generarToken(usuario);
+        tokenService.getSubject(token);
+    }
+
+    @Benchmark
+    public String firmar() {
+        return tokenService.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String verificadorPorLlamada() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRETO);
+        return JWT.require(algorithm)
+                .withIssuer("tareas")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verificadorReutilizado() {
+        return tokenService.verificar(token).getSubject();
+    }
+
+    @Benchmark
+    public String tokenEnCache() {
+        return tokenService.getSubject(token);
+    }
+}
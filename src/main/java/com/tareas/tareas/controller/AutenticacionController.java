@@ -33,6 +33,12 @@ public class AutenticacionController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRefrescoService tokenRefrescoService;
+
+    @Autowired
+    private CachePrincipales cachePrincipales;
+
     @PostMapping("/registro")
     public ResponseEntity registrarUsuario(@RequestBody @Valid DatosCrearUsuario datos) {
         var usuario = usuarioRepository.findByEmail(datos.email());
@@ -58,8 +64,26 @@ public class AutenticacionController {
         Authentication authToken = new UsernamePasswordAuthenticationToken(datosAutenticacionUsuario.email(),
                 datosAutenticacionUsuario.clave());
         var usuarioAutenticado = authenticationManager.authenticate(authToken);
-        var JWTtoken = tokenService.generarToken((Usuario) usuarioAutenticado.getPrincipal());
-        return ResponseEntity.ok(new DatosJWTToken(JWTtoken));
+        var usuario = (Usuario) usuarioAutenticado.getPrincipal();
+        var JWTtoken = tokenService.generarToken(usuario);
+        return ResponseEntity.ok(new DatosJWTToken(JWTtoken, tokenRefrescoService.emitir(usuario)));
+    }
+
+    // renueva el JWT con el refresh token del login (o del refresco anterior), sin verificar la clave
+    @PostMapping("/refresh")
+    public ResponseEntity refrescarToken(@RequestBody @Valid DatosRefrescoToken datos) {
+        var renovacion = tokenRefrescoService.renovar(datos.tokenRefresco());
+        var usuario = cachePrincipales.obtener(renovacion.email(), usuarioRepository::findByEmail);
+        if (usuario == null) {
+            throw new TokenRefrescoInvalido();
+        }
+        return ResponseEntity.ok(new DatosJWTToken(tokenService.generarToken(usuario), renovacion.tokenRefresco()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity cerrarSesion(@RequestBody @Valid DatosRefrescoToken datos) {
+        tokenRefrescoService.revocar(datos.tokenRefresco());
+        return ResponseEntity.noContent().build();
     }
 
 }
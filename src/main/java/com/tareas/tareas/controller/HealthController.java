@@ -1,5 +1,9 @@
 package com.tareas.tareas.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -7,8 +11,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class HealthController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    // mismo criterio que /actuator/health/readiness (base, pool, migraciones y calentamiento, ver infra/salud),
+    // para los balanceadores que ya consultan esta ruta: 503 mientras la instancia no puede atender
     @GetMapping("/health")
     public ResponseEntity<String> health() {
-        return ResponseEntity.ok("OK");
+        var salud = healthEndpoint.healthForPath("readiness");
+        if (salud != null && Status.UP.equals(salud.getStatus())) {
+            return ResponseEntity.ok("OK");
+        }
+        var estado = salud == null ? Status.UNKNOWN : salud.getStatus();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(estado.getCode());
     }
-}
\ No newline at end of file
+}
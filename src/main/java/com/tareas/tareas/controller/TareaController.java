@@ -3,13 +3,20 @@ package com.tareas.tareas.controller;
 import com.tareas.tareas.domain.tarea.*;
 import com.tareas.tareas.domain.usuario.Usuario;
 import com.tareas.tareas.domain.usuario.UsuarioService;
+import com.tareas.tareas.infra.eventos.SuscripcionesTareas;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ReportAsSingleViolation;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,6 +31,18 @@ public class TareaController {
     @Autowired
     UsuarioService usuarioService;
 
+    @Autowired
+    SuscripcionesTareas suscripcionesTareas;
+
+    // el navegador puede guardar la respuesta pero tiene que revalidarla (If-None-Match) antes de usarla
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    // la respuesta depende del usuario del token: una cache (o el navegador) no puede reutilizar la de otro.
+    // Va en la respuesta servlet para que tambien la lleve el 304
+    private static void variaPorUsuario(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+    }
+
 
     @PostMapping
     @Transactional
@@ -34,17 +53,62 @@ public class TareaController {
         return ResponseEntity.ok(tarea);
 
     }
-    @GetMapping
+    // Alta de muchas tareas en un request (importaciones). Responde el resultado de cada tarea del lote
+    @PostMapping("/lote")
     @Transactional
-    public ResponseEntity listarMisTareas() {
+    public ResponseEntity crearTareas(@RequestBody List<DatosCrearTarea> datos, @AuthenticationPrincipal Usuario usuario){
+        var resultado = tareaService.crearTareas(datos, usuario);
+
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Cambio de estado de muchas tareas a la vez, elegidas por ids o por filtro
+    @PutMapping("/lote/estado")
+    @Transactional
+    public ResponseEntity cambiarEstado(@RequestBody @Valid DatosCambioEstadoLote datos, @AuthenticationPrincipal Usuario usuario){
+        var resultado = tareaService.cambiarEstado(datos, usuario);
+
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Baja de muchas tareas a la vez. Es POST porque la seleccion viaja en el cuerpo
+    @PostMapping("/lote/eliminar")
+    @Transactional
+    public ResponseEntity eliminarTareas(@RequestBody DatosSeleccionTareas datos, @AuthenticationPrincipal Usuario usuario){
+        var resultado = tareaService.eliminarTareas(datos, usuario);
+
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping
+    @Transactional(readOnly = true)
+    public ResponseEntity listarMisTareas(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer tamanio,
+                                          WebRequest request, HttpServletResponse response) {
         Usuario usuario = usuarioService.getUsuarioAutenticado();
+        variaPorUsuario(response);
+        // GET condicional: si el cliente ya tiene esta version responde 304 sin buscar las tareas
+        if (request.checkNotModified(tareaService.etagTareas(usuario))) {
+            return null;
+        }
+        // si el cliente pide una pagina (cursor o tamanio) se pagina, sino se mantiene la lista completa
+        if (cursor != null || tamanio != null) {
+            return ResponseEntity.ok().cacheControl(REVALIDAR).body(tareaService.obtenerPaginaTareas(usuario, cursor, tamanio));
+        }
         var tareas = tareaService.obtenerTareasPorUsuario(usuario);
-        return ResponseEntity.ok(tareas);
+        return ResponseEntity.ok().cacheControl(REVALIDAR).body(tareas);
     }
 
 
+    // Cambios en las tareas del usuario como Server-Sent Events: CREADA, MODIFICADA y ELIMINADA con la tarea,
+    // o RESINCRONIZAR cuando hay que volver a pedir GET /tareas. La conexion queda abierta sin ocupar un hilo
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal Usuario usuario){
+        return suscripcionesTareas.suscribir(usuario.getId());
+    }
+
     @GetMapping("/{id}")
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity buscarTarea(@PathVariable Long id, @AuthenticationPrincipal Usuario usuario){
         var tarea = tareaService.buscarTareaPorId(id,usuario);
 
@@ -52,7 +116,7 @@ public class TareaController {
     }
 
     @GetMapping("/nombre/{nombre}")
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity buscarTareaPorNombre(@PathVariable String nombre, @AuthenticationPrincipal Usuario usuario){
         List<DatosRespuestaTarea> tareas = tareaService.buscarTareaPorNombre(nombre,usuario);
 
@@ -60,10 +124,15 @@ public class TareaController {
     }
 
     @GetMapping("/estadisticas")
-    @Transactional
-    public ResponseEntity<DatosEstadisticasTarea> obtenerEstadisticas(@AuthenticationPrincipal Usuario usuario) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<DatosEstadisticasTarea> obtenerEstadisticas(@AuthenticationPrincipal Usuario usuario,
+                                                                      WebRequest request, HttpServletResponse response) {
+        variaPorUsuario(response);
+        if (request.checkNotModified(tareaService.etagTareas(usuario))) {
+            return null;
+        }
         var estadisticas = tareaService.obtenerEstadisticas(usuario);
-        return ResponseEntity.ok(estadisticas);
+        return ResponseEntity.ok().cacheControl(REVALIDAR).body(estadisticas);
     }
 
     @PutMapping("/{idTarea}")
@@ -83,8 +152,14 @@ public class TareaController {
     }
 
     @PostMapping("/filtrar")
-    @Transactional
-    public ResponseEntity<List<DatosRespuestaTarea>> filtrarTareas(@RequestBody DatosFiltroTarea datos, @AuthenticationPrincipal Usuario usuario) {
+    @Transactional(readOnly = true)
+    public ResponseEntity filtrarTareas(@RequestBody DatosFiltroTarea datos,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer tamanio,
+                                        @AuthenticationPrincipal Usuario usuario) {
+        if (cursor != null || tamanio != null) {
+            return ResponseEntity.ok(tareaService.filtrarTareasPaginadas(datos, usuario, cursor, tamanio));
+        }
         var tareas = tareaService.filtrarTareas(datos, usuario);
         return ResponseEntity.ok(tareas);
     }
@@ -27,8 +27,14 @@ public class UsuarioController {
     }
 
     @GetMapping
-    @Transactional
-    public ResponseEntity listarUsuarios(){
+    @Transactional(readOnly = true)
+    public ResponseEntity listarUsuarios(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer tamanio){
+        // con cursor o tamanio se devuelve una pagina de usuarios con la cantidad de tareas de cada uno;
+        // sin parametros se mantiene la lista completa con todas las tareas
+        if (cursor != null || tamanio != null) {
+            return ResponseEntity.ok(usuarioService.listarResumenUsuarios(cursor, tamanio));
+        }
 
         List<DatosRespuestaUsuario> usuarios = usuarioService.listarUsuarios();
 
@@ -37,7 +43,7 @@ public class UsuarioController {
     }
 
     @GetMapping("/{id}")
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity buscarUsuario(@PathVariable Long id){
         var usuario = usuarioService.buscarUsuario(id);
 
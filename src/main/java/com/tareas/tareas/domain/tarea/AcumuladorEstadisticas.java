@@ -0,0 +1,113 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Suma las filas agregadas por la base de datos en contadores primitivos (una sola pasada)
+// y arma DatosEstadisticasTarea con los mismos valores y porcentajes que se calculaban antes
+public class AcumuladorEstadisticas {
+
+    private long total;
+    private final long[] porEstado = new long[Estado.values().length];
+    private final long[] porImportancia = new long[Importancia.values().length];
+    private long vencidas;
+    private long completadasHoy;
+    private long completadasSemana;
+
+    public static DatosEstadisticasTarea construir(List<FilaEstadisticaTarea> filas) {
+        var acumulador = new AcumuladorEstadisticas();
+        for (FilaEstadisticaTarea fila : filas) {
+            acumulador.agregar(fila);
+        }
+        return acumulador.construir();
+    }
+
+    // a partir de los contadores guardados por usuario
+    public static AcumuladorEstadisticas desde(EstadisticaUsuario estadistica) {
+        var acumulador = new AcumuladorEstadisticas();
+        acumulador.total = estadistica.getTotal();
+        acumulador.porEstado[Estado.PENDIENTE.ordinal()] = estadistica.getPendientes();
+        acumulador.porEstado[Estado.EN_PROGRESO.ordinal()] = estadistica.getEnProgreso();
+        acumulador.porEstado[Estado.COMPLETADA.ordinal()] = estadistica.getCompletadas();
+        acumulador.porEstado[Estado.CANCELADA.ordinal()] = estadistica.getCanceladas();
+        acumulador.porImportancia[Importancia.ALTA.ordinal()] = estadistica.getImportanciaAlta();
+        acumulador.porImportancia[Importancia.MEDIA.ordinal()] = estadistica.getImportanciaMedia();
+        acumulador.porImportancia[Importancia.BAJA.ordinal()] = estadistica.getImportanciaBaja();
+        acumulador.vencidas = estadistica.getVencidas();
+        acumulador.completadasHoy = estadistica.getCompletadasHoy();
+        acumulador.completadasSemana = estadistica.getCompletadasSemana();
+        return acumulador;
+    }
+
+    public void volcarEn(EstadisticaUsuario estadistica) {
+        estadistica.setTotal(total);
+        estadistica.setPendientes(porEstado[Estado.PENDIENTE.ordinal()]);
+        estadistica.setEnProgreso(porEstado[Estado.EN_PROGRESO.ordinal()]);
+        estadistica.setCompletadas(porEstado[Estado.COMPLETADA.ordinal()]);
+        estadistica.setCanceladas(porEstado[Estado.CANCELADA.ordinal()]);
+        estadistica.setImportanciaAlta(porImportancia[Importancia.ALTA.ordinal()]);
+        estadistica.setImportanciaMedia(porImportancia[Importancia.MEDIA.ordinal()]);
+        estadistica.setImportanciaBaja(porImportancia[Importancia.BAJA.ordinal()]);
+        estadistica.setVencidas(vencidas);
+        estadistica.setCompletadasHoy(completadasHoy);
+        estadistica.setCompletadasSemana(completadasSemana);
+    }
+
+    public void agregar(FilaEstadisticaTarea fila) {
+        long cantidad = valor(fila.cantidad());
+        total += cantidad;
+        porEstado[fila.estado().ordinal()] += cantidad;
+        porImportancia[fila.importancia().ordinal()] += cantidad;
+        vencidas += valor(fila.vencidas());
+        completadasHoy += valor(fila.completadasHoy());
+        completadasSemana += valor(fila.completadasSemana());
+    }
+
+    public DatosEstadisticasTarea construir() {
+        long completadas = porEstado[Estado.COMPLETADA.ordinal()];
+        long pendientes = porEstado[Estado.PENDIENTE.ordinal()];
+        long enProgreso = porEstado[Estado.EN_PROGRESO.ordinal()];
+        long canceladas = porEstado[Estado.CANCELADA.ordinal()];
+
+        return new DatosEstadisticasTarea(
+                total,
+                completadas,
+                pendientes,
+                enProgreso,
+                canceladas,
+                vencidas,
+                completadasHoy,
+                completadasSemana,
+                mapaSinCeros(Estado.values(), porEstado),
+                mapaSinCeros(Importancia.values(), porImportancia),
+                calcularPorcentaje(completadas, total),
+                calcularPorcentaje(pendientes, total),
+                calcularPorcentaje(enProgreso, total),
+                calcularPorcentaje(canceladas, total),
+                calcularPorcentaje(vencidas, total)
+        );
+    }
+
+    // como el groupingBy anterior, solo aparecen las claves que tienen al menos una tarea
+    private static Map<String, Long> mapaSinCeros(Enum<?>[] claves, long[] cantidades) {
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        for (Enum<?> clave : claves) {
+            if (cantidades[clave.ordinal()] > 0) {
+                mapa.put(clave.name(), cantidades[clave.ordinal()]);
+            }
+        }
+        return mapa;
+    }
+
+    // Método auxiliar para calcular porcentajes
+    private static double calcularPorcentaje(long parte, long total) {
+        if (total == 0) return 0.0;
+        double porcentaje = ((double) parte / total) * 100;
+        return Math.round(porcentaje * 100.0) / 100.0; // Redondear a 2 decimales
+    }
+
+    private static long valor(Long numero) {
+        return numero != null ? numero : 0L;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Una columna (o expresion) del ORDER BY de una pagina de tareas.
+// expresion: como se calcula en SQL, valor: como se calcula sobre la tarea ya leida (para armar el cursor)
+public record ClaveOrden(
+        BiFunction<Root<Tarea>, CriteriaBuilder, Expression<? extends Comparable<?>>> expresion,
+        Function<VistaTarea, Comparable<?>> valor,
+        Tipo tipo,
+        boolean descendente
+) {
+
+    // tipos que pueden viajar dentro del cursor
+    public enum Tipo {
+        ENTERO {
+            @Override
+            Comparable<?> leer(String texto) {
+                return Integer.valueOf(texto);
+            }
+        },
+        LARGO {
+            @Override
+            Comparable<?> leer(String texto) {
+                return Long.valueOf(texto);
+            }
+        },
+        FECHA {
+            @Override
+            Comparable<?> leer(String texto) {
+                return LocalDate.parse(texto);
+            }
+        },
+        FECHA_HORA {
+            @Override
+            Comparable<?> leer(String texto) {
+                return LocalDateTime.parse(texto);
+            }
+        },
+        TEXTO {
+            @Override
+            Comparable<?> leer(String texto) {
+                return texto;
+            }
+        };
+
+        abstract Comparable<?> leer(String texto);
+    }
+}
@@ -0,0 +1,56 @@
+package com.tareas.tareas.domain.tarea;
+
+import com.tareas.tareas.Validacion;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Cursor opaco para la paginacion por clave: guarda el orden usado y los valores de las claves
+// de la ultima tarea entregada, asi la siguiente pagina arranca justo despues de ella
+final class CursorTarea {
+
+    private static final String SEPARADOR = ".";
+
+    private CursorTarea() {
+    }
+
+    static String codificar(OrdenTarea orden, boolean descendente, List<ClaveOrden> claves, VistaTarea ultima) {
+        List<String> partes = new ArrayList<>();
+        partes.add(orden.name());
+        partes.add(descendente ? "DESC" : "ASC");
+        for (ClaveOrden clave : claves) {
+            partes.add(String.valueOf(clave.valor().apply(ultima)));
+        }
+        return String.join(SEPARADOR, partes.stream().map(CursorTarea::aBase64).toList());
+    }
+
+    static List<Comparable<?>> decodificar(String cursor, OrdenTarea orden, boolean descendente, List<ClaveOrden> claves) {
+        try {
+            String[] partes = cursor.split("\\" + SEPARADOR);
+            if (partes.length != claves.size() + 2
+                    || !desdeBase64(partes[0]).equals(orden.name())
+                    || !desdeBase64(partes[1]).equals(descendente ? "DESC" : "ASC")) {
+                throw new Validacion("El cursor no corresponde al orden solicitado");
+            }
+
+            List<Comparable<?>> valores = new ArrayList<>();
+            for (int i = 0; i < claves.size(); i++) {
+                valores.add(claves.get(i).tipo().leer(desdeBase64(partes[i + 2])));
+            }
+            return valores;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new Validacion("El cursor no es válido");
+        }
+    }
+
+    private static String aBase64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String desdeBase64(String texto) {
+        return new String(Base64.getUrlDecoder().decode(texto), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+// Ejemplo: {"filtro": {"soloVencidas": true}, "estado": "CANCELADA"} cancela todas las tareas vencidas
+public record DatosCambioEstadoLote(
+        List<Long> ids,               // ids de las tareas, o
+        DatosFiltroTarea filtro,      // las tareas que cumplen el filtro
+        @NotNull
+        Estado estado
+) {
+}
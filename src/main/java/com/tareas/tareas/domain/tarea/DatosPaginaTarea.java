@@ -0,0 +1,10 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.util.List;
+
+public record DatosPaginaTarea(
+        List<DatosRespuestaTarea> tareas,
+        String siguienteCursor,       // null cuando no hay mas paginas
+        boolean hayMas
+) {
+}
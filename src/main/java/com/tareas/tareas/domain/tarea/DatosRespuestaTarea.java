@@ -1,6 +1,5 @@
 package com.tareas.tareas.domain.tarea;
 
-import com.tareas.tareas.domain.usuario.Usuario;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
@@ -20,7 +19,7 @@ public record DatosRespuestaTarea(
         Boolean estaVencida, // Indicador si está vencida
         Long diasRestantes // Días restantes hasta vencimiento
 ) {
-    public DatosRespuestaTarea(Tarea tarea) {
+    public DatosRespuestaTarea(VistaTarea tarea) {
         this(
                 tarea.getId(),
                 tarea.getNombre(),
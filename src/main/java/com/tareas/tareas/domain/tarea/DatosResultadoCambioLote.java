@@ -0,0 +1,6 @@
+package com.tareas.tareas.domain.tarea;
+
+public record DatosResultadoCambioLote(
+        int modificadas               // tareas que cambiaron de estado o se eliminaron
+) {
+}
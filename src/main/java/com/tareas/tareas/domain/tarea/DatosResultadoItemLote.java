@@ -0,0 +1,18 @@
+package com.tareas.tareas.domain.tarea;
+
+public record DatosResultadoItemLote(
+        int indice,                   // posicion de la tarea en el lote recibido
+        String nombre,
+        EstadoItemLote estado,
+        Long id,                      // solo para las tareas creadas
+        String mensaje                // motivo del rechazo, null si se creo
+) {
+
+    public static DatosResultadoItemLote creada(int indice, Tarea tarea) {
+        return new DatosResultadoItemLote(indice, tarea.getNombre(), EstadoItemLote.CREADA, tarea.getId(), null);
+    }
+
+    public static DatosResultadoItemLote rechazada(int indice, String nombre, EstadoItemLote estado, String mensaje) {
+        return new DatosResultadoItemLote(indice, nombre, estado, null, mensaje);
+    }
+}
@@ -0,0 +1,10 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.util.List;
+
+public record DatosResultadoLote(
+        int creadas,
+        int rechazadas,
+        List<DatosResultadoItemLote> resultados   // uno por tarea recibida, en el mismo orden
+) {
+}
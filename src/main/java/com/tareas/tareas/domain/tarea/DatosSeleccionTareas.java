@@ -0,0 +1,11 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.util.List;
+
+// Tareas sobre las que actua un cambio masivo: una lista de ids o un filtro (el mismo de POST /tareas/filtrar,
+// sin orden). Se usa uno de los dos
+public record DatosSeleccionTareas(
+        List<Long> ids,
+        DatosFiltroTarea filtro
+) {
+}
@@ -0,0 +1,85 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Cuanto aporta una tarea (o un cambio de una tarea) a cada contador de EstadisticaUsuario.
+// Usa los mismos criterios que la consulta agregada de TareaRepository.contarEstadisticas
+public record DeltaEstadistica(
+        long total,
+        long pendientes,
+        long enProgreso,
+        long completadas,
+        long canceladas,
+        long importanciaAlta,
+        long importanciaMedia,
+        long importanciaBaja,
+        long vencidas,
+        long completadasHoy,
+        long completadasSemana
+) {
+
+    public static final DeltaEstadistica CERO = new DeltaEstadistica(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    public static DeltaEstadistica de(Tarea tarea, LocalDate hoy) {
+        Estado estado = tarea.getEstado();
+        Importancia importancia = tarea.getImportancia();
+        LocalDateTime finalizacion = tarea.getFechaFinalizacion();
+        LocalDate inicioSemana = hoy.minusDays(hoy.getDayOfWeek().getValue() - 1);
+
+        boolean vencida = tarea.getFechaVencimiento() != null
+                && tarea.getFechaVencimiento().isBefore(hoy)
+                && estado != Estado.COMPLETADA
+                && estado != Estado.CANCELADA;
+
+        return new DeltaEstadistica(
+                1,
+                uno(estado == Estado.PENDIENTE),
+                uno(estado == Estado.EN_PROGRESO),
+                uno(estado == Estado.COMPLETADA),
+                uno(estado == Estado.CANCELADA),
+                uno(importancia == Importancia.ALTA),
+                uno(importancia == Importancia.MEDIA),
+                uno(importancia == Importancia.BAJA),
+                uno(vencida),
+                uno(finalizacion != null && finalizacion.isAfter(hoy.atStartOfDay())),
+                uno(finalizacion != null && !finalizacion.isBefore(inicioSemana.atStartOfDay()))
+        );
+    }
+
+    public DeltaEstadistica mas(DeltaEstadistica otro) {
+        return new DeltaEstadistica(
+                total + otro.total,
+                pendientes + otro.pendientes,
+                enProgreso + otro.enProgreso,
+                completadas + otro.completadas,
+                canceladas + otro.canceladas,
+                importanciaAlta + otro.importanciaAlta,
+                importanciaMedia + otro.importanciaMedia,
+                importanciaBaja + otro.importanciaBaja,
+                vencidas + otro.vencidas,
+                completadasHoy + otro.completadasHoy,
+                completadasSemana + otro.completadasSemana
+        );
+    }
+
+    public DeltaEstadistica menos(DeltaEstadistica otro) {
+        return mas(otro.negado());
+    }
+
+    public DeltaEstadistica negado() {
+        return new DeltaEstadistica(
+                -total, -pendientes, -enProgreso, -completadas, -canceladas,
+                -importanciaAlta, -importanciaMedia, -importanciaBaja,
+                -vencidas, -completadasHoy, -completadasSemana
+        );
+    }
+
+    public boolean esCero() {
+        return this.equals(CERO);
+    }
+
+    private static long uno(boolean condicion) {
+        return condicion ? 1 : 0;
+    }
+}
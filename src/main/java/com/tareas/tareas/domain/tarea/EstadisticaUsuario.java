@@ -0,0 +1,59 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Contadores de tareas por usuario, mantenidos por TareaService en cada alta, edicion y baja.
+// vencidas, completadasHoy y completadasSemana dependen del dia: son validos para fechaCorte
+@Entity(name = "EstadisticaUsuario")
+@Table(name = "estadisticas_usuario")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "usuarioId")
+public class EstadisticaUsuario {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    private long total;
+    private long pendientes;
+
+    @Column(name = "en_progreso")
+    private long enProgreso;
+
+    private long completadas;
+    private long canceladas;
+
+    @Column(name = "importancia_alta")
+    private long importanciaAlta;
+
+    @Column(name = "importancia_media")
+    private long importanciaMedia;
+
+    @Column(name = "importancia_baja")
+    private long importanciaBaja;
+
+    private long vencidas;
+
+    @Column(name = "completadas_hoy")
+    private long completadasHoy;
+
+    @Column(name = "completadas_semana")
+    private long completadasSemana;
+
+    @Column(name = "fecha_corte")
+    private LocalDate fechaCorte;
+
+    public EstadisticaUsuario(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public boolean vigente(LocalDate hoy) {
+        return hoy.equals(this.fechaCorte);
+    }
+}
@@ -0,0 +1,71 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+public class EstadisticaUsuarioJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticaUsuarioJob.class);
+
+    private static final int LOTE = 500;
+
+    @Autowired
+    EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Autowired
+    EstadisticaUsuarioRepository estadisticaUsuarioRepository;
+
+    // pasada la medianoche las tareas que vencieron ayer pasan a vencidas
+    // y las ventanas de "completadas hoy" y "esta semana" cambian.
+    // Recorre los usuarios en lotes por id, cada lote en su propia transaccion
+    @Scheduled(cron = "${api.estadisticas.corte-diario:0 1 0 * * *}")
+    public void corteDiario() {
+        LocalDate hoy = LocalDate.now();
+        long ultimoUsuario = 0;
+        int renovadas = 0;
+
+        List<EstadisticaUsuario> lote;
+        do {
+            lote = estadisticaUsuarioRepository.findTop500ByUsuarioIdGreaterThanOrderByUsuarioIdAsc(ultimoUsuario);
+            if (!lote.isEmpty()) {
+                long hasta = lote.get(lote.size() - 1).getUsuarioId();
+                renovadas += estadisticaUsuarioService.renovarVentanas(hoy, ultimoUsuario, hasta);
+                ultimoUsuario = hasta;
+            }
+        } while (lote.size() == LOTE);
+
+        log.info("Corte diario de estadisticas: {} usuarios actualizados", renovadas);
+    }
+
+    // recorre todos los usuarios en lotes y corrige los contadores que no coincidan con la tabla de tareas
+    @Scheduled(cron = "${api.estadisticas.conciliacion:0 30 3 * * *}")
+    public void conciliar() {
+        LocalDate hoy = LocalDate.now();
+        long ultimoUsuario = 0;
+        int revisados = 0;
+        int corregidos = 0;
+
+        List<EstadisticaUsuario> lote;
+        do {
+            lote = estadisticaUsuarioRepository.findTop500ByUsuarioIdGreaterThanOrderByUsuarioIdAsc(ultimoUsuario);
+            for (EstadisticaUsuario estadistica : lote) {
+                if (estadisticaUsuarioService.conciliar(estadistica.getUsuarioId(), hoy)) {
+                    corregidos++;
+                }
+                revisados++;
+            }
+            if (!lote.isEmpty()) {
+                ultimoUsuario = lote.get(lote.size() - 1).getUsuarioId();
+            }
+        } while (lote.size() == LOTE);
+
+        log.info("Conciliacion de estadisticas: {} usuarios revisados, {} corregidos", revisados, corregidos);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EstadisticaUsuarioRepository extends JpaRepository<EstadisticaUsuario, Long> {
+
+    // Suma el delta en una sola sentencia atomica. Solo actualiza si los contadores son del dia de hoy,
+    // si devuelve 0 la fila no existe o quedo desactualizada y hay que recalcularla.
+    // Se limpia el contexto de persistencia para que una lectura posterior en la misma transaccion
+    // no devuelva la entidad con los valores de antes del UPDATE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE EstadisticaUsuario e SET
+                e.total = e.total + :#{#d.total()},
+                e.pendientes = e.pendientes + :#{#d.pendientes()},
+                e.enProgreso = e.enProgreso + :#{#d.enProgreso()},
+                e.completadas = e.completadas + :#{#d.completadas()},
+                e.canceladas = e.canceladas + :#{#d.canceladas()},
+                e.importanciaAlta = e.importanciaAlta + :#{#d.importanciaAlta()},
+                e.importanciaMedia = e.importanciaMedia + :#{#d.importanciaMedia()},
+                e.importanciaBaja = e.importanciaBaja + :#{#d.importanciaBaja()},
+                e.vencidas = e.vencidas + :#{#d.vencidas()},
+                e.completadasHoy = e.completadasHoy + :#{#d.completadasHoy()},
+                e.completadasSemana = e.completadasSemana + :#{#d.completadasSemana()}
+            WHERE e.usuarioId = :usuarioId AND e.fechaCorte = :hoy
+            """)
+    int sumar(@Param("usuarioId") Long usuarioId, @Param("hoy") LocalDate hoy, @Param("d") DeltaEstadistica d);
+
+    // Crea la fila la primera vez y, exista o no, la deja bloqueada hasta que termina la transaccion
+    // (el DO UPDATE no cambia nada pero toma el lock). recalcular la llama antes de contar: dos recalculos
+    // del mismo usuario no chocan con la clave primaria al insertar, y un sumar concurrente espera y suma
+    // su delta sobre el resultado del recalculo en lugar de perderse
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO estadisticas_usuario (usuario_id, fecha_corte) VALUES (:usuarioId, :hoy)
+            ON CONFLICT (usuario_id) DO UPDATE SET fecha_corte = estadisticas_usuario.fecha_corte
+            """, nativeQuery = true)
+    int bloquear(@Param("usuarioId") Long usuarioId, @Param("hoy") LocalDate hoy);
+
+    // Corte diario: recalcula los contadores que dependen del dia para los usuarios con id en (desde, hasta]
+    // cuyos contadores son de un dia anterior. Se llama por lotes: un UPDATE sobre toda la tabla dejaba
+    // bloqueadas las filas de todos los usuarios hasta terminar, y cada sumar o bloquear esperaba detras
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE EstadisticaUsuario e SET
+                e.vencidas = (SELECT COUNT(t) FROM Tarea t
+                              WHERE t.usuario.id = e.usuarioId AND t.fechaVencimiento < :hoy
+                              AND t.estado != 'COMPLETADA' AND t.estado != 'CANCELADA'),
+                e.completadasHoy = (SELECT COUNT(t) FROM Tarea t
+                                    WHERE t.usuario.id = e.usuarioId AND t.fechaFinalizacion > :inicioHoy),
+                e.completadasSemana = (SELECT COUNT(t) FROM Tarea t
+                                       WHERE t.usuario.id = e.usuarioId AND t.fechaFinalizacion >= :inicioSemana),
+                e.fechaCorte = :hoy
+            WHERE e.fechaCorte < :hoy AND e.usuarioId > :desde AND e.usuarioId <= :hasta
+            """)
+    int renovarVentanas(@Param("hoy") LocalDate hoy,
+                        @Param("inicioHoy") LocalDateTime inicioHoy,
+                        @Param("inicioSemana") LocalDateTime inicioSemana,
+                        @Param("desde") Long desde,
+                        @Param("hasta") Long hasta);
+
+    List<EstadisticaUsuario> findTop500ByUsuarioIdGreaterThanOrderByUsuarioIdAsc(Long usuarioId);
+}
@@ -0,0 +1,111 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Mantiene los contadores de EstadisticaUsuario: TareaService informa cada cambio como un delta,
+// asi /tareas/estadisticas se responde leyendo una sola fila en lugar de recorrer las tareas
+@Service
+public class EstadisticaUsuarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticaUsuarioService.class);
+
+    @Autowired
+    EstadisticaUsuarioRepository estadisticaUsuarioRepository;
+
+    @Autowired
+    TareaRepository tareaRepository;
+
+    @Autowired
+    VersionTareasService versionTareasService;
+
+    // se ejecuta dentro de la transaccion de la tarea que cambio, asi contador y tarea se guardan juntos
+    @Transactional
+    public void aplicar(Long usuarioId, LocalDate hoy, DeltaEstadistica delta) {
+        if (delta.esCero()) {
+            return;
+        }
+        if (estadisticaUsuarioRepository.sumar(usuarioId, hoy, delta) == 0) {
+            // no hay fila o es de otro dia: se arma de nuevo desde la tabla de tareas (ya incluye el cambio)
+            recalcular(usuarioId, hoy);
+        }
+    }
+
+    // Sin contadores vigentes (fila inexistente o de otro dia) se cuentan las tareas en memoria y no se
+    // guardan: la lectura usa una sola conexion (posiblemente de la replica) y nunca abre una transaccion
+    // de escritura anidada. La fila se arma en la proxima escritura del usuario (aplicar) o en el corte diario
+    @Transactional(readOnly = true)
+    public DatosEstadisticasTarea obtener(Long usuarioId, LocalDate hoy) {
+        return estadisticaUsuarioRepository.findById(usuarioId)
+                .filter(e -> e.vigente(hoy))
+                .map(AcumuladorEstadisticas::desde)
+                .orElseGet(() -> contarDesdeTareas(usuarioId, hoy))
+                .construir();
+    }
+
+    // La fila se bloquea antes de contar, asi el conteo ve todo lo que otras transacciones confirmaron
+    // hasta tomar el lock y lo que confirmen despues llega como un sumar que espera a este recalculo
+    @Transactional
+    public EstadisticaUsuario recalcular(Long usuarioId, LocalDate hoy) {
+        estadisticaUsuarioRepository.bloquear(usuarioId, hoy);
+        var acumulador = contarDesdeTareas(usuarioId, hoy);
+        var estadistica = estadisticaUsuarioRepository.findById(usuarioId).orElseThrow();
+
+        acumulador.volcarEn(estadistica);
+        estadistica.setFechaCorte(hoy);
+        return estadisticaUsuarioRepository.save(estadistica);
+    }
+
+    // Compara los contadores guardados con la tabla de tareas y los corrige si no coinciden.
+    // Devuelve true si habia diferencias
+    @Transactional
+    public boolean conciliar(Long usuarioId, LocalDate hoy) {
+        var guardada = estadisticaUsuarioRepository.findById(usuarioId);
+        if (guardada.isEmpty() || !guardada.get().vigente(hoy)) {
+            recalcular(usuarioId, hoy);
+            return false;
+        }
+
+        var esperadas = contarDesdeTareas(usuarioId, hoy).construir();
+        var actuales = AcumuladorEstadisticas.desde(guardada.get()).construir();
+        if (esperadas.equals(actuales)) {
+            return false;
+        }
+
+        log.warn("Contadores de estadisticas desincronizados para el usuario {}: guardados {}, esperados {}",
+                usuarioId, actuales, esperadas);
+        recalcular(usuarioId, hoy);
+        // la respuesta de /tareas/estadisticas cambio: los clientes no pueden seguir usando el ETag anterior
+        versionTareasService.incrementar(usuarioId);
+        return true;
+    }
+
+    // un lote del corte diario (usuarios con id en (desde, hasta]) en su propia transaccion,
+    // asi los locks de las filas se liberan al terminar cada lote
+    @Transactional
+    public int renovarVentanas(LocalDate hoy, Long desde, Long hasta) {
+        LocalDate inicioSemana = hoy.minusDays(hoy.getDayOfWeek().getValue() - 1);
+        return estadisticaUsuarioRepository.renovarVentanas(
+                hoy, hoy.atStartOfDay(), inicioSemana.atStartOfDay(), desde, hasta);
+    }
+
+    private AcumuladorEstadisticas contarDesdeTareas(Long usuarioId, LocalDate hoy) {
+        LocalDate inicioSemana = hoy.minusDays(hoy.getDayOfWeek().getValue() - 1);
+        List<FilaEstadisticaTarea> filas = tareaRepository.contarEstadisticas(
+                usuarioId,
+                hoy,
+                hoy.atStartOfDay(),
+                inicioSemana.atStartOfDay()
+        );
+
+        var acumulador = new AcumuladorEstadisticas();
+        filas.forEach(acumulador::agregar);
+        return acumulador;
+    }
+}
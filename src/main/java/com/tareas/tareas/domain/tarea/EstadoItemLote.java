@@ -0,0 +1,7 @@
+package com.tareas.tareas.domain.tarea;
+
+public enum EstadoItemLote {
+    CREADA,
+    DUPLICADA,  // el usuario ya tiene una tarea con ese nombre, o el nombre se repite dentro del lote
+    INVALIDA
+}
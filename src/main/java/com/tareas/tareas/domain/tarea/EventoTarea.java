@@ -0,0 +1,30 @@
+package com.tareas.tareas.domain.tarea;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Cambio en las tareas de un usuario. TareaService lo publica y, una vez confirmada la transaccion,
+// se envia a las conexiones de GET /tareas/stream del usuario (ver SuscripcionesTareas)
+public record EventoTarea(
+        @JsonIgnore
+        Long usuarioId,
+        TipoEventoTarea tipo,
+        Long tareaId,                 // null en RESINCRONIZAR
+        DatosRespuestaTarea tarea     // la tarea como queda despues del cambio; null si se elimino o en RESINCRONIZAR
+) {
+
+    public static EventoTarea creada(Long usuarioId, DatosRespuestaTarea tarea) {
+        return new EventoTarea(usuarioId, TipoEventoTarea.CREADA, tarea.id(), tarea);
+    }
+
+    public static EventoTarea modificada(Long usuarioId, DatosRespuestaTarea tarea) {
+        return new EventoTarea(usuarioId, TipoEventoTarea.MODIFICADA, tarea.id(), tarea);
+    }
+
+    public static EventoTarea eliminada(Long usuarioId, Long tareaId) {
+        return new EventoTarea(usuarioId, TipoEventoTarea.ELIMINADA, tareaId, null);
+    }
+
+    public static EventoTarea resincronizar(Long usuarioId) {
+        return new EventoTarea(usuarioId, TipoEventoTarea.RESINCRONIZAR, null, null);
+    }
+}
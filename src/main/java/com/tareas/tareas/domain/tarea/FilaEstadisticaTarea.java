@@ -0,0 +1,12 @@
+package com.tareas.tareas.domain.tarea;
+
+// Una fila del GROUP BY estado, importancia de la consulta de estadisticas
+public record FilaEstadisticaTarea(
+        Estado estado,
+        Importancia importancia,
+        Long cantidad,
+        Long vencidas,
+        Long completadasHoy,
+        Long completadasSemana
+) {
+}
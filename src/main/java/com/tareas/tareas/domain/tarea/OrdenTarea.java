@@ -0,0 +1,172 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Ordenes disponibles para listar tareas. Cada orden se expresa como una lista de claves
+// que se evaluan en SQL, terminando siempre en el id para que el orden sea total y estable
+// (condicion necesaria para paginar por cursor sin saltear ni repetir tareas).
+// Salvo el inteligente, cada orden tiene un indice (usuario_id, clave, id) que devuelve las filas ya
+// ordenadas (V11 y V16). El inteligente depende del dia de hoy y ningun indice lo puede guardar ordenado:
+// la base lee las tareas del usuario por su indice y se queda con las primeras (top-N, acotado por el LIMIT)
+public enum OrdenTarea {
+    ID,
+    FECHA_VENCIMIENTO,
+    FECHA_CREACION,
+    IMPORTANCIA,
+    NOMBRE,
+    INTELIGENTE;
+
+    // reemplaza a la fecha de vencimiento nula, asi las tareas sin fecha quedan al final en orden ascendente.
+    // Tiene que coincidir con la columna fecha_vencimiento_orden (V16)
+    static final LocalDate SIN_FECHA = LocalDate.of(9999, 12, 31);
+
+    // mismo criterio que el campo ordenarPor de DatosFiltroTarea: vacio es el orden inteligente
+    // y cualquier valor desconocido ordena por id
+    public static OrdenTarea desde(String ordenarPor) {
+        if (ordenarPor == null || ordenarPor.isEmpty()) {
+            return INTELIGENTE;
+        }
+        return switch (ordenarPor) {
+            case "fechaVencimiento" -> FECHA_VENCIMIENTO;
+            case "fechaCreacion" -> FECHA_CREACION;
+            case "importancia" -> IMPORTANCIA;
+            case "nombre" -> NOMBRE;
+            default -> ID;
+        };
+    }
+
+    // el orden inteligente tiene su propia direccion, no se puede invertir
+    public boolean admiteDireccion() {
+        return this != INTELIGENTE;
+    }
+
+    public List<ClaveOrden> claves(boolean descendente, LocalDate hoy) {
+        List<ClaveOrden> claves = new ArrayList<>();
+        switch (this) {
+            case FECHA_VENCIMIENTO -> claves.add(new ClaveOrden(
+                    (root, cb) -> root.<LocalDate>get("fechaVencimientoOrden"),
+                    t -> t.getFechaVencimiento() != null ? t.getFechaVencimiento() : SIN_FECHA,
+                    ClaveOrden.Tipo.FECHA,
+                    descendente
+            ));
+            case FECHA_CREACION -> claves.add(new ClaveOrden(
+                    (root, cb) -> root.get("fechaCreacion"),
+                    VistaTarea::getFechaCreacion,
+                    ClaveOrden.Tipo.FECHA_HORA,
+                    descendente
+            ));
+            // ALTA, MEDIA, BAJA en el orden en que estan declaradas en el enum (columna importancia_orden)
+            case IMPORTANCIA -> claves.add(new ClaveOrden(
+                    (root, cb) -> root.<Integer>get("importanciaOrden"),
+                    t -> t.getImportancia().ordinal(),
+                    ClaveOrden.Tipo.ENTERO,
+                    descendente
+            ));
+            case NOMBRE -> claves.add(new ClaveOrden(
+                    (root, cb) -> cb.lower(root.get("nombre")),
+                    t -> t.getNombre().toLowerCase(Locale.ROOT),
+                    ClaveOrden.Tipo.TEXTO,
+                    descendente
+            ));
+            // Orden inteligente: reemplaza al comparador en memoria que calculaba LocalDate.now() y
+            // estaVencida() en cada comparacion. Se calcula una clave por fila con "hoy" fijo para
+            // toda la consulta, asi la base de datos puede ordenar (y cortar con LIMIT) por su cuenta:
+            //   vencidas (las mas atrasadas primero) -> vencen hoy -> resto de activas por importancia
+            //   y vencimiento (sin fecha al final) -> completadas y canceladas (mas recientes primero)
+            case INTELIGENTE -> {
+                // 1. grupo: vencidas, vencen hoy, resto de activas, terminadas
+                claves.add(new ClaveOrden(
+                        (root, cb) -> cb.<Integer>selectCase()
+                                .when(terminada(root), 3)
+                                .when(cb.lessThan(root.get("fechaVencimiento"), hoy), 0)
+                                .when(cb.equal(root.get("fechaVencimiento"), hoy), 1)
+                                .otherwise(2),
+                        t -> grupoInteligente(t, hoy),
+                        ClaveOrden.Tipo.ENTERO,
+                        false
+                ));
+                // 2. entre activas no vencidas, mayor importancia primero
+                claves.add(new ClaveOrden(
+                        (root, cb) -> cb.<Integer>selectCase()
+                                .when(terminada(root), 0)
+                                .when(cb.lessThan(root.get("fechaVencimiento"), hoy), 0)
+                                .when(cb.equal(root.get("importancia"), Importancia.ALTA), 3)
+                                .when(cb.equal(root.get("importancia"), Importancia.MEDIA), 2)
+                                .otherwise(1),
+                        t -> pesoInteligente(t, hoy),
+                        ClaveOrden.Tipo.ENTERO,
+                        true
+                ));
+                // 3. entre activas, la fecha de vencimiento mas proxima (o mas atrasada) primero, sin fecha al final
+                claves.add(new ClaveOrden(
+                        (root, cb) -> cb.<LocalDate>selectCase()
+                                .when(terminada(root), SIN_FECHA)
+                                .otherwise(root.<LocalDate>get("fechaVencimientoOrden")),
+                        t -> esTerminada(t) || t.getFechaVencimiento() == null ? SIN_FECHA : t.getFechaVencimiento(),
+                        ClaveOrden.Tipo.FECHA,
+                        false
+                ));
+                // 4. las creadas mas recientemente primero
+                claves.add(new ClaveOrden(
+                        (root, cb) -> root.get("fechaCreacion"),
+                        VistaTarea::getFechaCreacion,
+                        ClaveOrden.Tipo.FECHA_HORA,
+                        true
+                ));
+            }
+            case ID -> {
+                return List.of(claveId(descendente));
+            }
+        }
+        claves.add(claveId(this == INTELIGENTE ? false : descendente));
+        return claves;
+    }
+
+    private static ClaveOrden claveId(boolean descendente) {
+        return new ClaveOrden(
+                (root, cb) -> root.<Long>get("id"),
+                VistaTarea::getId,
+                ClaveOrden.Tipo.LARGO,
+                descendente
+        );
+    }
+
+    private static Predicate terminada(Root<Tarea> root) {
+        return root.get("estado").in(Estado.COMPLETADA, Estado.CANCELADA);
+    }
+
+    private static boolean esTerminada(VistaTarea tarea) {
+        return tarea.getEstado() == Estado.COMPLETADA || tarea.getEstado() == Estado.CANCELADA;
+    }
+
+    private static int grupoInteligente(VistaTarea tarea, LocalDate hoy) {
+        if (esTerminada(tarea)) {
+            return 3;
+        }
+        if (tarea.getFechaVencimiento() != null && tarea.getFechaVencimiento().isBefore(hoy)) {
+            return 0;
+        }
+        if (hoy.equals(tarea.getFechaVencimiento())) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static int pesoInteligente(VistaTarea tarea, LocalDate hoy) {
+        int grupo = grupoInteligente(tarea, hoy);
+        if (grupo == 0 || grupo == 3) {
+            return 0;
+        }
+        return switch (tarea.getImportancia()) {
+            case ALTA -> 3;
+            case MEDIA -> 2;
+            case BAJA -> 1;
+        };
+    }
+}
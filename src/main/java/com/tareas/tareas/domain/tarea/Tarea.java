@@ -17,10 +17,13 @@ import java.time.temporal.ChronoUnit;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
-public class Tarea {
+public class Tarea implements VistaTarea {
 
+    // secuencia con asignacion de a 50 (ver V13): un nextval cada 50 tareas y los INSERT se pueden agrupar
+    // en lotes (hibernate.jdbc.batch_size), lo que con IDENTITY no era posible
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tareas_id")
+    @SequenceGenerator(name = "tareas_id", sequenceName = "tareas_id_seq", allocationSize = 50)
     private Long id;
 
     private String nombre;
@@ -46,13 +49,25 @@ public class Tarea {
     @Enumerated(EnumType.STRING)
     private Importancia importancia;
 
-    @ManyToOne
+    // Columnas calculadas por la base (ver V16) que solo se usan para ordenar en SQL (ver OrdenTarea).
+    // Nunca se escriben y en una tarea recien guardada quedan sin valor hasta volver a leerla
+    @Column(name = "fecha_vencimiento_orden", insertable = false, updatable = false)
+    private LocalDate fechaVencimientoOrden;
+
+    @Column(name = "importancia_orden", insertable = false, updatable = false)
+    private Integer importanciaOrden;
+
+    // LAZY: ninguna lectura de tareas necesita los datos del usuario (y su fila incluye la clave);
+    // quien lo necesite tiene que pedirlo en la consulta con un fetch join o un @EntityGraph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 
     @PrePersist
     public void onCreate() {
-        this.fechaCreacion = LocalDateTime.now();
+        // la base de datos guarda microsegundos; truncamos para que la tarea en memoria tenga el mismo
+        // valor que la guardada (el cursor de paginacion compara contra este campo)
+        this.fechaCreacion = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public Tarea(DatosCrearTarea datos, Usuario usuario) {
@@ -108,20 +123,4 @@ public class Tarea {
             this.fechaVencimiento = this.fechaCreacion.toLocalDate().plusDays(datos.duracionDias());
         }
     }
-
-    // Método para saber si la tarea está vencida
-    public boolean estaVencida() {
-        if (this.estado == Estado.COMPLETADA || this.estado == Estado.CANCELADA) {
-            return false;
-        }
-        return this.fechaVencimiento != null && LocalDate.now().isAfter(this.fechaVencimiento);
-    }
-
-    // Método para calcular días restantes
-    public Long diasRestantes() {
-        if (this.fechaVencimiento == null) {
-            return null;
-        }
-        return ChronoUnit.DAYS.between(LocalDate.now(), this.fechaVencimiento);
-    }
 }
@@ -2,15 +2,17 @@ package com.tareas.tareas.domain.tarea;
 
 import com.tareas.tareas.domain.usuario.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TareaRepository extends JpaRepository<Tarea, Long> {
+public interface TareaRepository extends JpaRepository<Tarea, Long>, JpaSpecificationExecutor<Tarea>, TareaRepositoryCustom {
 
     Optional<Tarea> findByNombre(String nombre);
 
@@ -19,13 +21,29 @@ public interface TareaRepository extends JpaRepository<Tarea, Long> {
 
     List<Tarea> findByNombreContainsIgnoreCase(String nombre);
 
-    boolean existsByUsuarioIdAndNombre(Long usuarioId, String nombre);
+    // t.usuario.id es la columna usuario_id de tareas; los metodos derivados con UsuarioId hacian join con usuarios
+    @Query("SELECT COUNT(t) > 0 FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.nombre = :nombre")
+    boolean existsByUsuarioIdAndNombre(@Param("usuarioId") Long usuarioId, @Param("nombre") String nombre);
+
+    // Nombres de la lista que el usuario ya tiene en alguna tarea, con una sola consulta (alta en lote)
+    @Query("SELECT t.nombre FROM Tarea t WHERE t.usuario.id = :usuarioId AND t.nombre IN :nombres")
+    List<String> buscarNombresExistentes(@Param("usuarioId") Long usuarioId, @Param("nombres") Collection<String> nombres);
 
     List<Tarea> findByUsuario(Usuario usuario);
 
     Optional<Tarea> findByIdAndUsuario(Long idTarea, Usuario usuario);
 
-    List<Tarea> findByNombreContainingIgnoreCaseAndUsuario(String nombre, Usuario usuario);
+    // Tareas del usuario cuyo nombre contiene el texto, las mas parecidas primero (similarity de pg_trgm).
+    // texto en minusculas, patron armado con TareaSpecification.patronContiene
+    @Query(value = """
+            SELECT t.* FROM tareas t
+            WHERE t.usuario_id = :usuarioId
+              AND lower(t.nombre) LIKE :patron ESCAPE '\\'
+            ORDER BY similarity(lower(t.nombre), :texto) DESC, t.id
+            """, nativeQuery = true)
+    List<Tarea> buscarPorNombre(@Param("usuarioId") Long usuarioId,
+                                @Param("texto") String texto,
+                                @Param("patron") String patron);
 
     List<Tarea> findByUsuarioAndEstado(Usuario usuario, Estado estado);
 
@@ -44,6 +62,26 @@ public interface TareaRepository extends JpaRepository<Tarea, Long> {
 
     List<Tarea> findByUsuarioOrderByFechaCreacionDesc(Usuario usuario);
 
-    long countByUsuarioId(Long usuarioId);
+    @Query("SELECT COUNT(t) FROM Tarea t WHERE t.usuario.id = :usuarioId")
+    long countByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // Contadores de /tareas/estadisticas agrupados por estado e importancia, calculados por la base de datos
+    @Query("""
+            SELECT new com.tareas.tareas.domain.tarea.FilaEstadisticaTarea(
+                t.estado,
+                t.importancia,
+                COUNT(t),
+                SUM(CASE WHEN t.fechaVencimiento < :hoy AND t.estado != 'COMPLETADA' AND t.estado != 'CANCELADA' THEN 1 ELSE 0 END),
+                SUM(CASE WHEN t.fechaFinalizacion > :inicioHoy THEN 1 ELSE 0 END),
+                SUM(CASE WHEN t.fechaFinalizacion >= :inicioSemana THEN 1 ELSE 0 END)
+            )
+            FROM Tarea t
+            WHERE t.usuario.id = :usuarioId
+            GROUP BY t.estado, t.importancia
+            """)
+    List<FilaEstadisticaTarea> contarEstadisticas(@Param("usuarioId") Long usuarioId,
+                                                 @Param("hoy") LocalDate hoy,
+                                                 @Param("inicioHoy") LocalDateTime inicioHoy,
+                                                 @Param("inicioSemana") LocalDateTime inicioSemana);
 
 }
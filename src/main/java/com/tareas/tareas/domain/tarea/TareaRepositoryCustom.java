@@ -0,0 +1,36 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TareaRepositoryCustom {
+
+    // Lecturas para las respuestas de la API. Devuelven proyecciones (ver VistaTarea): solo las columnas
+    // de DatosRespuestaTarea, filtrando por la columna usuario_id sin join con usuarios y sin entidades
+
+    // La tarea con ese id, si es del usuario
+    Optional<VistaTarea> buscarVista(Long idTarea, Long usuarioId);
+
+    // Todas las tareas del usuario
+    List<VistaTarea> buscarVistas(Long usuarioId);
+
+    // Devuelve hasta "limite" tareas que cumplen el filtro, ordenadas por las claves y ubicadas
+    // despues de los valores "desde" (null para la primera pagina). Cada pagina es una busqueda
+    // por rango sobre las claves, sin OFFSET, por eso una pagina profunda cuesta lo mismo que la primera.
+    // Igual que buscarOrdenadas, trae solo las columnas de VistaTarea y no entidades
+    List<VistaTarea> buscarPagina(Specification<Tarea> filtro, List<ClaveOrden> claves, List<Comparable<?>> desde, int limite);
+
+    // Todas las tareas que cumplen el filtro, ordenadas por la base de datos segun las claves
+    List<VistaTarea> buscarOrdenadas(Specification<Tarea> filtro, List<ClaveOrden> claves);
+
+    // Cambios masivos: una sola sentencia UPDATE o DELETE sobre las tareas que cumplen el filtro (las mismas
+    // Specification de las busquedas), sin cargar entidades. Devuelven la cantidad de tareas modificadas
+
+    // Pasa las tareas al estado indicado. Al completarlas se pone la fecha de finalizacion (ahora) si no tenian
+    int actualizarEstado(Specification<Tarea> filtro, Estado estado, LocalDateTime ahora);
+
+    int eliminar(Specification<Tarea> filtro);
+}
@@ -0,0 +1,209 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class TareaRepositoryCustomImpl implements TareaRepositoryCustom {
+
+    // columnas de VistaTarea, en el orden en que se seleccionan
+    private static final List<String> COLUMNAS = List.of(
+            "id", "nombre", "descripcion", "estado", "fechaCreacion", "fechaInicio",
+            "fechaVencimiento", "fechaFinalizacion", "importancia", "duracionDias"
+    );
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Optional<VistaTarea> buscarVista(Long idTarea, Long usuarioId) {
+        Specification<Tarea> filtro = (root, query, cb) -> cb.and(
+                cb.equal(root.get("id"), idTarea),
+                cb.equal(root.get("usuario").get("id"), usuarioId)
+        );
+        return em.createQuery(consulta(filtro, List.of(), null))
+                .getResultList().stream()
+                .<VistaTarea>map(FilaTarea::new)
+                .findFirst();
+    }
+
+    @Override
+    public List<VistaTarea> buscarVistas(Long usuarioId) {
+        Specification<Tarea> filtro = (root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId);
+        return em.createQuery(consulta(filtro, List.of(), null))
+                .getResultList().stream()
+                .<VistaTarea>map(FilaTarea::new)
+                .toList();
+    }
+
+    @Override
+    public List<VistaTarea> buscarPagina(Specification<Tarea> filtro, List<ClaveOrden> claves, List<Comparable<?>> desde, int limite) {
+        return em.createQuery(consulta(filtro, claves, desde))
+                .setMaxResults(limite)
+                .getResultList().stream()
+                .<VistaTarea>map(FilaTarea::new)
+                .toList();
+    }
+
+    @Override
+    public List<VistaTarea> buscarOrdenadas(Specification<Tarea> filtro, List<ClaveOrden> claves) {
+        return em.createQuery(consulta(filtro, claves, null))
+                .getResultList().stream()
+                .<VistaTarea>map(FilaTarea::new)
+                .toList();
+    }
+
+    @Override
+    public int actualizarEstado(Specification<Tarea> filtro, Estado estado, LocalDateTime ahora) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Tarea> update = cb.createCriteriaUpdate(Tarea.class);
+        Root<Tarea> root = update.from(Tarea.class);
+
+        update.set(root.get("estado"), estado);
+        if (estado == Estado.COMPLETADA) {
+            // igual que Tarea.actualizarTarea: la fecha de finalizacion se pone solo la primera vez que se completa
+            update.set(root.<LocalDateTime>get("fechaFinalizacion"), cb.coalesce(root.<LocalDateTime>get("fechaFinalizacion"), ahora));
+        }
+        // las que ya tienen ese estado no se tocan (y no cuentan como modificadas)
+        update.where(filtro.toPredicate(root, null, cb), cb.notEqual(root.get("estado"), estado));
+
+        return ejecutar(em.createQuery(update));
+    }
+
+    @Override
+    public int eliminar(Specification<Tarea> filtro) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<Tarea> delete = cb.createCriteriaDelete(Tarea.class);
+        Root<Tarea> root = delete.from(Tarea.class);
+
+        delete.where(filtro.toPredicate(root, null, cb));
+
+        return ejecutar(em.createQuery(delete));
+    }
+
+    // La sentencia va directo a la base, sin pasar por las entidades cargadas: antes se mandan los cambios
+    // pendientes y despues se vacia el contexto de persistencia para que nadie lea una tarea desactualizada
+    private int ejecutar(Query sentencia) {
+        em.flush();
+        int filas = sentencia.executeUpdate();
+        em.clear();
+        return filas;
+    }
+
+    private CriteriaQuery<Tuple> consulta(Specification<Tarea> filtro, List<ClaveOrden> claves, List<Comparable<?>> desde) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Tarea> root = query.from(Tarea.class);
+
+        List<Expression<? extends Comparable<?>>> expresiones = claves.stream()
+                .<Expression<? extends Comparable<?>>>map(c -> c.expresion().apply(root, cb))
+                .toList();
+
+        List<Predicate> condiciones = new ArrayList<>();
+        Predicate predicadoFiltro = filtro.toPredicate(root, query, cb);
+        if (predicadoFiltro != null) {
+            condiciones.add(predicadoFiltro);
+        }
+        if (desde != null) {
+            condiciones.add(posteriorA(cb, claves, expresiones, desde));
+        }
+
+        List<Order> orden = new ArrayList<>();
+        for (int i = 0; i < claves.size(); i++) {
+            orden.add(claves.get(i).descendente() ? cb.desc(expresiones.get(i)) : cb.asc(expresiones.get(i)));
+        }
+
+        return query.multiselect(COLUMNAS.stream().<Selection<?>>map(root::get).toList())
+                .where(condiciones.toArray(Predicate[]::new))
+                .orderBy(orden);
+    }
+
+    // (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... respetando la direccion de cada clave.
+    // Se agrega ademas la cota k1 >= v1 para que el indice sobre la primera clave pueda acotar el rango
+    private Predicate posteriorA(CriteriaBuilder cb, List<ClaveOrden> claves,
+                                 List<Expression<? extends Comparable<?>>> expresiones, List<Comparable<?>> desde) {
+        List<Predicate> alternativas = new ArrayList<>();
+        for (int i = 0; i < claves.size(); i++) {
+            List<Predicate> partes = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                partes.add(cb.equal(expresiones.get(j), desde.get(j)));
+            }
+            partes.add(comparar(cb, expresiones.get(i), desde.get(i), claves.get(i).descendente(), false));
+            alternativas.add(cb.and(partes.toArray(Predicate[]::new)));
+        }
+
+        Predicate cota = comparar(cb, expresiones.get(0), desde.get(0), claves.get(0).descendente(), true);
+        return cb.and(cota, cb.or(alternativas.toArray(Predicate[]::new)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate comparar(CriteriaBuilder cb, Expression expresion, Comparable valor, boolean descendente, boolean inclusivo) {
+        if (descendente) {
+            return inclusivo ? cb.lessThanOrEqualTo(expresion, valor) : cb.lessThan(expresion, valor);
+        }
+        return inclusivo ? cb.greaterThanOrEqualTo(expresion, valor) : cb.greaterThan(expresion, valor);
+    }
+
+    // una fila de la consulta vista como VistaTarea, leyendo cada columna por su posicion en COLUMNAS
+    private record FilaTarea(Tuple fila) implements VistaTarea {
+
+        @Override
+        public Long getId() {
+            return fila.get(0, Long.class);
+        }
+
+        @Override
+        public String getNombre() {
+            return fila.get(1, String.class);
+        }
+
+        @Override
+        public String getDescripcion() {
+            return fila.get(2, String.class);
+        }
+
+        @Override
+        public Estado getEstado() {
+            return fila.get(3, Estado.class);
+        }
+
+        @Override
+        public LocalDateTime getFechaCreacion() {
+            return fila.get(4, LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDate getFechaInicio() {
+            return fila.get(5, LocalDate.class);
+        }
+
+        @Override
+        public LocalDate getFechaVencimiento() {
+            return fila.get(6, LocalDate.class);
+        }
+
+        @Override
+        public LocalDateTime getFechaFinalizacion() {
+            return fila.get(7, LocalDateTime.class);
+        }
+
+        @Override
+        public Importancia getImportancia() {
+            return fila.get(8, Importancia.class);
+        }
+
+        @Override
+        public Integer getDuracionDias() {
+            return fila.get(9, Integer.class);
+        }
+    }
+}
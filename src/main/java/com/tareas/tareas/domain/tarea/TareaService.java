@@ -4,23 +4,36 @@ import com.tareas.tareas.Validacion;
 import com.tareas.tareas.domain.usuario.Usuario;
 import com.tareas.tareas.domain.usuario.UsuarioRepository;
 import com.tareas.tareas.domain.usuario.UsuarioService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.springframework.data.jpa.domain.AbstractPersistable_.id;
 
+// cada metodo publico se mide en el timer "servicio", etiquetado con la clase y el metodo (ver MetricasConfiguration)
 @Service
+@Timed(value = "servicio", histogram = true)
 public class TareaService {
 
     @Autowired
@@ -32,6 +45,36 @@ public class TareaService {
     @Autowired
     UsuarioService usuarioService;
 
+    @Autowired
+    EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Autowired
+    VersionTareasService versionTareasService;
+
+    @Autowired
+    Validator validator;
+
+    // eventos para GET /tareas/stream (ver SuscripcionesTareas); se envian despues del commit
+    @Autowired
+    ApplicationEventPublisher eventos;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // tareas.filtrar.devueltas: cuantas tareas devuelve cada filtrado (se registra una sola vez)
+    private DistributionSummary filtrarDevueltas;
+
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 20;
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+    private static final int TAMANIO_LOTE_MAXIMO = 5000;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        filtrarDevueltas = DistributionSummary.builder("tareas.filtrar.devueltas")
+                .baseUnit("tareas")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     public DatosRespuestaTarea crearTarea(@Valid DatosCrearTarea datos, @AuthenticationPrincipal Usuario usuario) {
         var tarea = tareaRepository.existsByUsuarioIdAndNombre(usuario.getId(), datos.nombre());
@@ -42,19 +85,149 @@ public class TareaService {
         }else{
             var nuevaTarea = new Tarea(datos, usuario);
             tareaRepository.save(nuevaTarea);
-            return new DatosRespuestaTarea(nuevaTarea);
+
+            LocalDate hoy = LocalDate.now();
+            estadisticaUsuarioService.aplicar(usuario.getId(), hoy, DeltaEstadistica.de(nuevaTarea, hoy));
+            versionTareasService.incrementar(usuario.getId());
+
+            var respuesta = new DatosRespuestaTarea(nuevaTarea);
+            eventos.publishEvent(EventoTarea.creada(usuario.getId(), respuesta));
+            return respuesta;
+        }
+
+    }
+
+    // ALTA EN LOTE
+    // Para importar muchas tareas: los nombres repetidos se buscan con una sola consulta, los INSERT se mandan
+    // en lotes (ids por secuencia + hibernate.jdbc.batch_size) y las estadisticas se ajustan una sola vez.
+    // Cada tarea informa su resultado; las rechazadas (invalidas o con nombre repetido) no cancelan el resto
+    public DatosResultadoLote crearTareas(List<DatosCrearTarea> datos, Usuario usuario) {
+        if (datos == null || datos.isEmpty()) {
+            throw new Validacion("El lote no tiene tareas");
+        }
+        if (datos.size() > TAMANIO_LOTE_MAXIMO) {
+            throw new Validacion("El lote no puede tener más de " + TAMANIO_LOTE_MAXIMO + " tareas");
+        }
+
+        Set<String> nombresUsados = nombresExistentes(datos, usuario);
+        LocalDate hoy = LocalDate.now();
+
+        var resultados = new DatosResultadoItemLote[datos.size()];
+        var nuevas = new Tarea[datos.size()];
+        var delta = DeltaEstadistica.CERO;
+        for (int i = 0; i < datos.size(); i++) {
+            var item = datos.get(i);
+            var errores = erroresDeValidacion(item);
+            if (errores != null) {
+                resultados[i] = DatosResultadoItemLote.rechazada(i, item == null ? null : item.nombre(), EstadoItemLote.INVALIDA, errores);
+            } else if (!nombresUsados.add(item.nombre())) {
+                resultados[i] = DatosResultadoItemLote.rechazada(i, item.nombre(), EstadoItemLote.DUPLICADA, "La tarea ya existe");
+            } else {
+                nuevas[i] = new Tarea(item, usuario);
+                delta = delta.mas(DeltaEstadistica.de(nuevas[i], hoy));
+            }
+        }
+
+        tareaRepository.saveAll(Arrays.stream(nuevas).filter(Objects::nonNull).toList());
+        estadisticaUsuarioService.aplicar(usuario.getId(), hoy, delta);
+
+        int creadas = 0;
+        for (int i = 0; i < nuevas.length; i++) {
+            if (nuevas[i] != null) {
+                resultados[i] = DatosResultadoItemLote.creada(i, nuevas[i]);
+                creadas++;
+            }
+        }
+        if (creadas > 0) {
+            versionTareasService.incrementar(usuario.getId());
+            // muchas tareas juntas: en lugar de un evento por tarea se avisa que vuelvan a pedir la lista
+            eventos.publishEvent(EventoTarea.resincronizar(usuario.getId()));
+        }
+        return new DatosResultadoLote(creadas, datos.size() - creadas, Arrays.asList(resultados));
+    }
+
+    private Set<String> nombresExistentes(List<DatosCrearTarea> datos, Usuario usuario) {
+        Set<String> nombres = datos.stream()
+                .filter(Objects::nonNull)
+                .map(DatosCrearTarea::nombre)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (nombres.isEmpty()) {
+            return new HashSet<>();
         }
+        return new HashSet<>(tareaRepository.buscarNombresExistentes(usuario.getId(), nombres));
+    }
 
+    // las mismas validaciones que @Valid en POST /tareas, pero sin cortar el lote; null si la tarea es valida
+    private String erroresDeValidacion(DatosCrearTarea datos) {
+        if (datos == null) {
+            return "La tarea es obligatoria";
+        }
+        Set<ConstraintViolation<DatosCrearTarea>> violaciones = validator.validate(datos);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 
+    // CAMBIOS MASIVOS
+    // Un solo UPDATE o DELETE sobre las tareas elegidas por ids o por filtro, en lugar de buscar y modificar
+    // cada tarea. Despues los contadores de estadisticas se recalculan una vez desde la tabla de tareas
+    public DatosResultadoCambioLote cambiarEstado(DatosCambioEstadoLote datos, Usuario usuario) {
+        LocalDate hoy = LocalDate.now();
+        var seleccion = seleccion(datos.ids(), datos.filtro(), usuario, hoy);
+
+        int modificadas = tareaRepository.actualizarEstado(seleccion, datos.estado(), LocalDateTime.now());
+        if (modificadas > 0) {
+            estadisticaUsuarioService.recalcular(usuario.getId(), hoy);
+            versionTareasService.incrementar(usuario.getId());
+            eventos.publishEvent(EventoTarea.resincronizar(usuario.getId()));
+        }
+        return new DatosResultadoCambioLote(modificadas);
+    }
+
+    public DatosResultadoCambioLote eliminarTareas(DatosSeleccionTareas datos, Usuario usuario) {
+        LocalDate hoy = LocalDate.now();
+        var seleccion = seleccion(datos.ids(), datos.filtro(), usuario, hoy);
+
+        int eliminadas = tareaRepository.eliminar(seleccion);
+        if (eliminadas > 0) {
+            estadisticaUsuarioService.recalcular(usuario.getId(), hoy);
+            versionTareasService.incrementar(usuario.getId());
+            eventos.publishEvent(EventoTarea.resincronizar(usuario.getId()));
+        }
+        return new DatosResultadoCambioLote(eliminadas);
+    }
+
+    // siempre limitado a las tareas del usuario: un id de otro usuario simplemente no se modifica
+    private Specification<Tarea> seleccion(List<Long> ids, DatosFiltroTarea filtro, Usuario usuario, LocalDate hoy) {
+        boolean porIds = ids != null && !ids.isEmpty();
+        if (porIds == (filtro != null)) {
+            throw new Validacion("Debe indicar los ids de las tareas o un filtro");
+        }
+        if (porIds) {
+            if (ids.size() > TAMANIO_LOTE_MAXIMO) {
+                throw new Validacion("El lote no puede tener más de " + TAMANIO_LOTE_MAXIMO + " tareas");
+            }
+            return TareaSpecification.delUsuario(usuario).and(TareaSpecification.conIds(ids));
+        }
+        return TareaSpecification.filtrar(filtro, usuario, hoy);
+    }
+
+    // las lecturas usan las proyecciones de TareaRepository y transacciones de solo lectura: no se cargan
+    // entidades ni el usuario de cada tarea, y Hibernate no hace dirty checking al terminar
+    @Transactional(readOnly = true)
     public List<DatosRespuestaTarea> obtenerTareasPorUsuario(Usuario usuario) {
-        var tareas = tareaRepository.findByUsuario(usuario);
+        var tareas = tareaRepository.buscarVistas(usuario.getId());
 
         if (tareas.isEmpty()) {
             throw new RuntimeException("El usuario no tiene tareas asignadas");
         }
         List<DatosRespuestaTarea> tareasUsuario = tareas.stream()
-                .map(t-> new DatosRespuestaTarea(t.getId(),t.getNombre(),t.getDescripcion(),t.getEstado(),t.getFechaCreacion(),t.getFechaInicio(),t.getFechaVencimiento(),t.getFechaFinalizacion(),t.getImportancia(),t.getDuracionDias(),t.estaVencida(),t.diasRestantes()))
+                .map(DatosRespuestaTarea::new)
                 .collect(Collectors.toList());
         return tareasUsuario;
     }
@@ -64,10 +237,18 @@ public class TareaService {
 
         if(tarea.isPresent()){
             var tareaEncontrada = tarea.get();
+            LocalDate hoy = LocalDate.now();
+            var antes = DeltaEstadistica.de(tareaEncontrada, hoy);
 
             tareaEncontrada.actualizarTarea(datos, usuario);
 
-            return new DatosRespuestaTarea(tareaEncontrada);
+            // solo se suma la diferencia: por ejemplo PENDIENTE -> COMPLETADA resta un pendiente y suma una completada
+            estadisticaUsuarioService.aplicar(usuario.getId(), hoy, DeltaEstadistica.de(tareaEncontrada, hoy).menos(antes));
+            versionTareasService.incrementar(usuario.getId());
+
+            var respuesta = new DatosRespuestaTarea(tareaEncontrada);
+            eventos.publishEvent(EventoTarea.modificada(usuario.getId(), respuesta));
+            return respuesta;
         }else{
             throw new Validacion("No existe la tarea o el usuario");
         }
@@ -79,13 +260,19 @@ public class TareaService {
         if (tarea.isPresent()){
             var tareaEncontrada = tarea.get();
             tareaRepository.delete(tareaEncontrada);
+
+            LocalDate hoy = LocalDate.now();
+            estadisticaUsuarioService.aplicar(usuario.getId(), hoy, DeltaEstadistica.de(tareaEncontrada, hoy).negado());
+            versionTareasService.incrementar(usuario.getId());
+            eventos.publishEvent(EventoTarea.eliminada(usuario.getId(), tareaEncontrada.getId()));
         }else{
             throw new Validacion("La tarea no existe");
         }
     }
 
+    @Transactional(readOnly = true)
     public DatosRespuestaTarea buscarTareaPorId(Long id, @AuthenticationPrincipal Usuario usuario) {
-        Optional<Tarea> tarea = tareaRepository.findByIdAndUsuario(id, usuario);
+        Optional<VistaTarea> tarea = tareaRepository.buscarVista(id, usuario.getId());
 
 
         if(tarea.isPresent()){
@@ -97,287 +284,104 @@ public class TareaService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<DatosRespuestaTarea> buscarTareaPorNombre(String nombre, @AuthenticationPrincipal Usuario usuario) {
-        List<DatosRespuestaTarea> tareas = tareaRepository.findByNombreContainingIgnoreCaseAndUsuario(nombre,usuario).stream()
+        String texto = nombre.toLowerCase(Locale.ROOT);
+        List<DatosRespuestaTarea> tareas = tareaRepository.buscarPorNombre(usuario.getId(), texto, TareaSpecification.patronContiene(texto)).stream()
                 .map(t-> new DatosRespuestaTarea(t))
                 .toList();
 
         return tareas;
     }
 
-    // Este comparador sirve para ordenar los resultados de manera ascendente o descendente
-    private Comparator<Tarea> obtenerComparador(String campo) {
-        return switch (campo) {
-            case "fechaVencimiento" -> Comparator.comparing(
-                    Tarea::getFechaVencimiento,
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-            case "fechaCreacion" -> Comparator.comparing(Tarea::getFechaCreacion);
-            case "importancia" -> Comparator.comparing(Tarea::getImportancia);
-            case "nombre" -> Comparator.comparing(
-                    Tarea::getNombre,
-                    String.CASE_INSENSITIVE_ORDER
-            );
-            default -> Comparator.comparing(Tarea::getId);
-        };
-    }
-
-    private Comparator<Tarea> obtenerComparadorInteligente() {
-        return (t1, t2) -> {
-            LocalDate hoy = LocalDate.now();
-
-            // 1. Tareas COMPLETADAS y CANCELADAS al final
-            boolean t1Terminada = t1.getEstado() == Estado.COMPLETADA || t1.getEstado() == Estado.CANCELADA;
-            boolean t2Terminada = t2.getEstado() == Estado.COMPLETADA || t2.getEstado() == Estado.CANCELADA;
-
-            if (t1Terminada && !t2Terminada) return 1;  // t1 va después
-            if (!t1Terminada && t2Terminada) return -1; // t1 va antes
-
-            // Si ambas están terminadas, ordenar por fecha de finalización
-            if (t1Terminada && t2Terminada) {
-                return t2.getFechaCreacion().compareTo(t1.getFechaCreacion());
-            }
-
-            // 2. Tareas VENCIDAS primero (las más atrasadas primero)
-            boolean t1Vencida = t1.estaVencida(); // Usar el método que ya tenés
-            boolean t2Vencida = t2.estaVencida();
-
-            if (t1Vencida && !t2Vencida) return -1;
-            if (!t1Vencida && t2Vencida) return 1;
+    @Transactional(readOnly = true)
+    public List<DatosRespuestaTarea> filtrarTareas(DatosFiltroTarea datos, @AuthenticationPrincipal Usuario usuario) {
 
-            if (t1Vencida && t2Vencida) {
-                // Entre vencidas, las más antiguas primero
-                return t1.getFechaVencimiento().compareTo(t2.getFechaVencimiento());
-            }
+        // los filtros se traducen a predicados SQL (ver TareaSpecification) y el orden a claves SQL
+        // (ver OrdenTarea), asi la base de datos devuelve solo las tareas que cumplen todos los criterios
+        // y ya ordenadas, sin traer todas las del usuario ni ordenarlas en memoria
+        LocalDate hoy = LocalDate.now();
+        OrdenTarea orden = OrdenTarea.desde(datos.ordenarPor());
+        boolean descendente = esDescendente(orden, datos);
 
-            // 3. Tareas que vencen HOY
-            boolean t1Hoy = t1.getFechaVencimiento() != null &&
-                    t1.getFechaVencimiento().equals(hoy);
-            boolean t2Hoy = t2.getFechaVencimiento() != null &&
-                    t2.getFechaVencimiento().equals(hoy);
-
-            if (t1Hoy && !t2Hoy) return -1;
-            if (!t1Hoy && t2Hoy) return 1;
-
-            // 4. Ordenar por IMPORTANCIA (ALTA antes que MEDIA antes que BAJA)
-            int importanciaCompare = Integer.compare(
-                    getImportanciaValue(t2.getImportancia()),
-                    getImportanciaValue(t1.getImportancia())
-            );
-            if (importanciaCompare != 0) return importanciaCompare;
-
-            // 5. Ordenar por fecha de vencimiento (próximas primero)
-            if (t1.getFechaVencimiento() != null && t2.getFechaVencimiento() != null) {
-                return t1.getFechaVencimiento().compareTo(t2.getFechaVencimiento());
-            }
+        List<VistaTarea> tareas = tareaRepository.buscarOrdenadas(
+                TareaSpecification.filtrar(datos, usuario, hoy),
+                orden.claves(descendente, hoy)
+        );
+        // el filtro se aplica en la base, asi que las tareas leidas son las devueltas: esta distribucion
+        // muestra el tamanio de las respuestas (las filas que la base recorre para armarlas se ven en su plan)
+        filtrarDevueltas.record(tareas.size());
 
-            // 6. Tareas sin fecha al final
-            if (t1.getFechaVencimiento() == null && t2.getFechaVencimiento() != null) return 1;
-            if (t1.getFechaVencimiento() != null && t2.getFechaVencimiento() == null) return -1;
+        return tareas.stream().map(DatosRespuestaTarea::new).collect(Collectors.toList());
 
-            // 7. Si todo es igual, ordenar por fecha de creación (más recientes primero)
-            return t2.getFechaCreacion().compareTo(t1.getFechaCreacion());
-        };
     }
 
-    private int getImportanciaValue(Importancia importancia) {
-        return switch (importancia) {
-            case ALTA -> 3;
-            case MEDIA -> 2;
-            case BAJA -> 1;
-        };
+    // PAGINACION POR CURSOR
+    // en lugar de devolver todas las tareas de una vez, se devuelven de a "tamanio" y un cursor
+    // que apunta a la ultima tarea entregada; la siguiente pagina se busca a partir de ese punto
+    @Transactional(readOnly = true)
+    public DatosPaginaTarea obtenerPaginaTareas(Usuario usuario, String cursor, Integer tamanio) {
+        return paginar(TareaSpecification.delUsuario(usuario), OrdenTarea.ID, false, cursor, tamanio, LocalDate.now());
     }
 
-    public List<DatosRespuestaTarea> filtrarTareas(DatosFiltroTarea datos, @AuthenticationPrincipal Usuario usuario) {
-
-        // primer buscamos las tareas asociadas al usuario de la sesion
-        List<Tarea> tareas = tareaRepository.findByUsuario(usuario);
-
-        // convertimos las tareas en stream para poder utilizar metodos, en este caso el filter
-        Stream<Tarea> stream = tareas.stream();
-
-
-        // FILTRO POR NOMBRE Y DESCRIPCION
-        // si los datos ingresados por el usuario no son nulos o no esta vacio, no aplicamos el filtro y sale del if
-        if(datos.busqueda() != null && !datos.busqueda().isEmpty()){
-            // convertimos el texto ingresado a minuscula
-            String busquedaLower = datos.busqueda().toLowerCase();
-
-            // aplicamos la funcion lambda, donde por cada tarea con su nombre, que convertimos a minuscula,
-            // la vamos a convertir a minuscula y vemos si contiene el texto que ingreso el usuario, lo mismo hacemos con la descripcion,
-            // devolvera true o false si contiene alguna de las dos
-            stream = stream.filter(t ->t.getNombre().toLowerCase().contains(busquedaLower) ||
-                    t.getDescripcion().toLowerCase().contains(busquedaLower));
-        }
-
-        // FILTRO POR ESTADO
-        // iteramos y comparamos las tareas almacenadas con el estado que ingreso el usuario
-        if(datos.estado() != null){
-            stream = stream.filter(t -> t.getEstado() == datos.estado());
-        }
-
-        //FILTRO POR IMPORTANCIA
-        // iteramos y comparamos las tareas almacenadas por importancia con el dato importancia que ingreso el usuario
-        if(datos.importancia() != null){
-            stream = stream.filter(t -> t.getImportancia() == datos.importancia());
-        }
+    @Transactional(readOnly = true)
+    public DatosPaginaTarea filtrarTareasPaginadas(DatosFiltroTarea datos, Usuario usuario, String cursor, Integer tamanio) {
+        LocalDate hoy = LocalDate.now();
+        OrdenTarea orden = OrdenTarea.desde(datos.ordenarPor());
+        boolean descendente = esDescendente(orden, datos);
 
-        // FILTRO POR FECHAS
-        // verificamos que los datos ingresados por el usuario no sean nulos,
-        // aplicamos el filter e iteramos, verificando que la fecha de vencimiento no sea nula y ademas,
-        // la fecha de vencimiento no sea anterior a la fecha "desde" y que no sea posterior a la fecha "hasta"
-        if(datos.fechaDesde() != null && datos.fechaHasta() != null){
-            stream = stream.filter(t->
-                    t.getFechaVencimiento() != null &&
-                    !t.getFechaVencimiento().isBefore(datos.fechaDesde()) &&
-                            !t.getFechaVencimiento().isAfter(datos.fechaHasta())
-            );
-        }
+        return paginar(TareaSpecification.filtrar(datos, usuario, hoy), orden, descendente, cursor, tamanio, hoy);
+    }
 
-        // FILTRO POR TAREAS VENCIDAS
-        //buscamos tareas que esten activas y vencidas, recorremos cada tarea y verificamos primero que
-        // la fecha de vencimiento que recordemos, es opcional, no sea nulla, y verificamos que la fecha
-        // de vencimiento sea anterior a la fecha de hoy y que no este completada o cancelada
-        if(datos.soloVencidas() != null && datos.soloVencidas()){
-            LocalDate hoy = LocalDate.now();
-            stream = stream.filter(t ->
-                    t.getFechaVencimiento() != null &&
-                            t.getFechaVencimiento().isBefore(hoy) &&
-                            t.getEstado() != Estado.COMPLETADA &&
-                            t.getEstado() != Estado.CANCELADA
-            );
-        }
+    private DatosPaginaTarea paginar(Specification<Tarea> filtro, OrdenTarea orden, boolean descendente,
+                                     String cursor, Integer tamanio, LocalDate hoy) {
+        int limite = tamanioPagina(tamanio);
+        List<ClaveOrden> claves = orden.claves(descendente, hoy);
+        List<Comparable<?>> desde = (cursor == null || cursor.isEmpty())
+                ? null
+                : CursorTarea.decodificar(cursor, orden, descendente, claves);
+
+        // pedimos una tarea de mas para saber si existe una pagina siguiente
+        List<VistaTarea> tareas = tareaRepository.buscarPagina(filtro, claves, desde, limite + 1);
+        boolean hayMas = tareas.size() > limite;
+        List<VistaTarea> pagina = hayMas ? tareas.subList(0, limite) : tareas;
+
+        String siguienteCursor = hayMas
+                ? CursorTarea.codificar(orden, descendente, claves, pagina.get(pagina.size() - 1))
+                : null;
+
+        return new DatosPaginaTarea(
+                pagina.stream().map(DatosRespuestaTarea::new).toList(),
+                siguienteCursor,
+                hayMas
+        );
+    }
 
-        // FILTRAR POR DURACION DE DIAS
+    // el orden inteligente ignora la direccion, igual que antes
+    private boolean esDescendente(OrdenTarea orden, DatosFiltroTarea datos) {
+        return orden.admiteDireccion()
+                && datos.direccion() != null && datos.direccion().equalsIgnoreCase("DESC");
+    }
 
-        if(datos.diasDuracion() != null){
-            stream = stream.filter(t ->
-                    t.getDuracionDias() != null &&
-                            t.getDuracionDias().equals(datos.diasDuracion())
-            );
+    private int tamanioPagina(Integer tamanio) {
+        if (tamanio == null) {
+            return TAMANIO_PAGINA_POR_DEFECTO;
         }
-
-
-        // toma el campo que ingreso el usuario, y lo pasa por el comparador, el usuario puede ordenar
-        // por fecha de vencimiento y creacion, por nombre y por importancia, todos estos de manera asc y desc
-
-        if (datos.ordenarPor() != null && !datos.ordenarPor().isEmpty()) {
-            Comparator<Tarea> comparator = obtenerComparador(datos.ordenarPor());
-
-            if (datos.direccion() != null && datos.direccion().equalsIgnoreCase("DESC")) {
-                comparator = comparator.reversed();
-            }
-
-            stream = stream.sorted(comparator);
-        } else {
-            stream = stream.sorted(obtenerComparadorInteligente());
+        if (tamanio < 1) {
+            throw new Validacion("El tamaño de página debe ser mayor a 0");
         }
-
-        return stream.map(DatosRespuestaTarea::new).collect(Collectors.toList());
-
+        return Math.min(tamanio, TAMANIO_PAGINA_MAXIMO);
     }
 
-    public DatosEstadisticasTarea obtenerEstadisticas(@AuthenticationPrincipal Usuario usuario) {
-        List<Tarea> tareas = tareaRepository.findByUsuario(usuario);
-
-        if (tareas.isEmpty()) {
-            return new DatosEstadisticasTarea(
-                    0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
-                    Map.of(), Map.of(),
-                    0.0, 0.0, 0.0, 0.0, 0.0  // Todos los porcentajes en 0
-            );
-        }
-
-        LocalDate hoy = LocalDate.now();
-        LocalDateTime inicioHoy = hoy.atStartOfDay();
-        LocalDate inicioSemana = hoy.minusDays(hoy.getDayOfWeek().getValue() - 1);
-
-        // Total de tareas
-        long total = tareas.size();
-
-        // Por estado
-        long completadas = tareas.stream()
-                .filter(t -> t.getEstado() == Estado.COMPLETADA)
-                .count();
-
-        long pendientes = tareas.stream()
-                .filter(t -> t.getEstado() == Estado.PENDIENTE)
-                .count();
-
-        long enProgreso = tareas.stream()
-                .filter(t -> t.getEstado() == Estado.EN_PROGRESO)
-                .count();
-
-        long canceladas = tareas.stream()
-                .filter(t -> t.getEstado() == Estado.CANCELADA)
-                .count();
-
-        // Vencidas (activas con fecha pasada)
-        long vencidas = tareas.stream()
-                .filter(t -> t.getFechaVencimiento() != null &&
-                        t.getFechaVencimiento().isBefore(hoy) &&
-                        t.getEstado() != Estado.COMPLETADA &&
-                        t.getEstado() != Estado.CANCELADA)
-                .count();
-
-        // Completadas hoy
-        long completadasHoy = tareas.stream()
-                .filter(t -> t.getFechaFinalizacion() != null &&
-                        t.getFechaFinalizacion().isAfter(inicioHoy))
-                .count();
-
-        // Completadas esta semana
-        long completadasSemana = tareas.stream()
-                .filter(t -> t.getFechaFinalizacion() != null &&
-                        t.getFechaFinalizacion().toLocalDate().isAfter(inicioSemana.minusDays(1)))
-                .count();
-
-        // Mapa por estado
-        Map<String, Long> porEstado = tareas.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getEstado().name(),
-                        Collectors.counting()
-                ));
-
-        // Mapa por importancia
-        Map<String, Long> porImportancia = tareas.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getImportancia().name(),
-                        Collectors.counting()
-                ));
-
-        // Calcular TODOS los porcentajes
-        double porcentajeCompletado = calcularPorcentaje(completadas, total);
-        double porcentajePendiente = calcularPorcentaje(pendientes, total);
-        double porcentajeEnProgreso = calcularPorcentaje(enProgreso, total);
-        double porcentajeCancelado = calcularPorcentaje(canceladas, total);
-        double porcentajeVencido = calcularPorcentaje(vencidas, total);
-
-        return new DatosEstadisticasTarea(
-                total,
-                completadas,
-                pendientes,
-                enProgreso,
-                canceladas,
-                vencidas,
-                completadasHoy,
-                completadasSemana,
-                porEstado,
-                porImportancia,
-                porcentajeCompletado,
-                porcentajePendiente,
-                porcentajeEnProgreso,
-                porcentajeCancelado,
-                porcentajeVencido
-        );
+    // ETag de GET /tareas y GET /tareas/estadisticas (ver VersionTareasService)
+    public String etagTareas(Usuario usuario) {
+        return versionTareasService.etag(usuario.getId(), LocalDate.now());
     }
 
-    // Método auxiliar para calcular porcentajes
-    private double calcularPorcentaje(long parte, long total) {
-        if (total == 0) return 0.0;
-        double porcentaje = ((double) parte / total) * 100;
-        return Math.round(porcentaje * 100.0) / 100.0; // Redondear a 2 decimales
+    public DatosEstadisticasTarea obtenerEstadisticas(@AuthenticationPrincipal Usuario usuario) {
+        // los contadores se mantienen en cada alta, edicion y baja (ver EstadisticaUsuarioService),
+        // asi que alcanza con leer la fila del usuario
+        return estadisticaUsuarioService.obtener(usuario.getId(), LocalDate.now());
     }
 
-
 }
@@ -0,0 +1,110 @@
+package com.tareas.tareas.domain.tarea;
+
+import com.tareas.tareas.domain.usuario.Usuario;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Traduce cada campo de DatosFiltroTarea a un predicado SQL, asi la base de datos solo devuelve
+// las filas que cumplen el filtro en lugar de traer todas las tareas del usuario a memoria
+public final class TareaSpecification {
+
+    private static final char ESCAPE = '\\';
+
+    private TareaSpecification() {
+    }
+
+    public static Specification<Tarea> filtrar(DatosFiltroTarea datos, Usuario usuario, LocalDate hoy) {
+        return filtrar(datos, usuario.getId(), hoy);
+    }
+
+    public static Specification<Tarea> filtrar(DatosFiltroTarea datos, Long usuarioId, LocalDate hoy) {
+        List<Specification<Tarea>> filtros = new ArrayList<>();
+        filtros.add(delUsuario(usuarioId));
+
+        if (datos.busqueda() != null && !datos.busqueda().isEmpty()) {
+            filtros.add(contieneTexto(datos.busqueda()));
+        }
+        if (datos.estado() != null) {
+            filtros.add(conEstado(datos.estado()));
+        }
+        if (datos.importancia() != null) {
+            filtros.add(conImportancia(datos.importancia()));
+        }
+        if (datos.fechaDesde() != null && datos.fechaHasta() != null) {
+            filtros.add(venceEntre(datos.fechaDesde(), datos.fechaHasta()));
+        }
+        if (datos.soloVencidas() != null && datos.soloVencidas()) {
+            filtros.add(vencidas(hoy));
+        }
+        if (datos.diasDuracion() != null) {
+            filtros.add(conDuracion(datos.diasDuracion()));
+        }
+
+        return Specification.allOf(filtros);
+    }
+
+    public static Specification<Tarea> delUsuario(Usuario usuario) {
+        return delUsuario(usuario.getId());
+    }
+
+    public static Specification<Tarea> delUsuario(Long usuarioId) {
+        return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<Tarea> conIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // nombre o descripcion contienen el texto, sin distinguir mayusculas.
+    // lower(...) LIKE '%texto%' usa los indices de trigramas de V12 (texto de 3 caracteres o mas)
+    public static Specification<Tarea> contieneTexto(String texto) {
+        String patron = patronContiene(texto.toLowerCase(Locale.ROOT));
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("nombre")), patron, ESCAPE),
+                cb.like(cb.lower(root.get("descripcion")), patron, ESCAPE)
+        );
+    }
+
+    public static Specification<Tarea> conEstado(Estado estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    public static Specification<Tarea> conImportancia(Importancia importancia) {
+        return (root, query, cb) -> cb.equal(root.get("importancia"), importancia);
+    }
+
+    // between es inclusivo en ambos extremos y descarta fechas nulas, igual que el filtro original
+    public static Specification<Tarea> venceEntre(LocalDate desde, LocalDate hasta) {
+        return (root, query, cb) -> cb.between(root.get("fechaVencimiento"), desde, hasta);
+    }
+
+    // activas (ni completadas ni canceladas) con fecha de vencimiento anterior a hoy
+    public static Specification<Tarea> vencidas(LocalDate hoy) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThan(root.get("fechaVencimiento"), hoy),
+                cb.not(root.get("estado").in(Estado.COMPLETADA, Estado.CANCELADA))
+        );
+    }
+
+    public static Specification<Tarea> conDuracion(Integer dias) {
+        return (root, query, cb) -> cb.equal(root.get("duracionDias"), dias);
+    }
+
+    // patron LIKE que encuentra el texto en cualquier posicion (escapado con ESCAPE)
+    public static String patronContiene(String texto) {
+        return "%" + escaparLike(texto) + "%";
+    }
+
+    // el texto del usuario se busca literal, sin que % o _ actuen como comodines
+    private static String escaparLike(String texto) {
+        return texto
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,8 @@
+package com.tareas.tareas.domain.tarea;
+
+public enum TipoEventoTarea {
+    CREADA,
+    MODIFICADA,
+    ELIMINADA,
+    RESINCRONIZAR   // cambiaron muchas tareas juntas o se perdieron eventos: hay que volver a pedir GET /tareas
+}
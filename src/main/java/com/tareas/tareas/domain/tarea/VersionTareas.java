@@ -0,0 +1,20 @@
+package com.tareas.tareas.domain.tarea;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Numero que cambia cada vez que cambian las tareas de un usuario (ver VersionTareasService)
+@Entity(name = "VersionTareas")
+@Table(name = "versiones_tareas")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "usuarioId")
+public class VersionTareas {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    private long version;
+}
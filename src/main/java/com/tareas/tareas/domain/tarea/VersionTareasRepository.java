@@ -0,0 +1,24 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface VersionTareasRepository extends JpaRepository<VersionTareas, Long> {
+
+    // solo el numero, sin cargar la entidad
+    @Query("SELECT v.version FROM VersionTareas v WHERE v.usuarioId = :usuarioId")
+    Optional<Long> buscarVersion(@Param("usuarioId") Long usuarioId);
+
+    // Suma 1 en una sola sentencia, creando la fila la primera vez. La fila queda bloqueada hasta que termina
+    // la transaccion, asi dos escrituras del mismo usuario no pueden terminar con la misma version
+    @Modifying
+    @Query(value = """
+            INSERT INTO versiones_tareas (usuario_id, version) VALUES (:usuarioId, 1)
+            ON CONFLICT (usuario_id) DO UPDATE SET version = versiones_tareas.version + 1
+            """, nativeQuery = true)
+    int incrementar(@Param("usuarioId") Long usuarioId);
+}
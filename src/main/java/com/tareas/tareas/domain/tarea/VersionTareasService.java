@@ -0,0 +1,33 @@
+package com.tareas.tareas.domain.tarea;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+// Version de las tareas de cada usuario para los GET condicionales (ETag / If-None-Match).
+// TareaService la incrementa en cada escritura, dentro de la misma transaccion: si la escritura
+// se deshace, la version tambien. Si el cliente ya tiene la version actual se responde 304 sin
+// consultar las tareas ni serializar la respuesta. La version se lee antes que los datos: si una escritura
+// se mete en el medio, el cliente recibe datos mas nuevos que su ETag y el siguiente GET los vuelve a traer
+@Service
+public class VersionTareasService {
+
+    @Autowired
+    VersionTareasRepository versionTareasRepository;
+
+    @Transactional
+    public void incrementar(Long usuarioId) {
+        versionTareasRepository.incrementar(usuarioId);
+    }
+
+    // El ETag incluye el usuario porque dos usuarios pueden tener la misma version y compartir la cache del
+    // cliente (el mismo navegador), y el dia porque las respuestas dependen de la fecha aunque nadie modifique
+    // las tareas (tareas vencidas, dias restantes, completadas hoy)
+    @Transactional(readOnly = true)
+    public String etag(Long usuarioId, LocalDate hoy) {
+        long version = versionTareasRepository.buscarVersion(usuarioId).orElse(0L);
+        return "\"" + usuarioId + "-" + version + "-" + hoy + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.tareas.tareas.domain.tarea;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Columnas de una tarea que necesita DatosRespuestaTarea. Las consultas de lectura de TareaRepository
+// devuelven esta proyeccion en lugar de la entidad: traen solo estas columnas, sin el usuario, y
+// Hibernate no tiene que administrar la tarea ni guardar una copia para detectar cambios.
+// Tarea tambien la implementa, asi las respuestas se arman igual desde una entidad o desde una proyeccion
+public interface VistaTarea {
+
+    Long getId();
+
+    String getNombre();
+
+    String getDescripcion();
+
+    Estado getEstado();
+
+    LocalDateTime getFechaCreacion();
+
+    LocalDate getFechaInicio();
+
+    LocalDate getFechaVencimiento();
+
+    LocalDateTime getFechaFinalizacion();
+
+    Importancia getImportancia();
+
+    Integer getDuracionDias();
+
+    // Método para saber si la tarea está vencida
+    default boolean estaVencida() {
+        if (getEstado() == Estado.COMPLETADA || getEstado() == Estado.CANCELADA) {
+            return false;
+        }
+        return getFechaVencimiento() != null && LocalDate.now().isAfter(getFechaVencimiento());
+    }
+
+    // Método para calcular días restantes
+    default Long diasRestantes() {
+        if (getFechaVencimiento() == null) {
+            return null;
+        }
+        return ChronoUnit.DAYS.between(LocalDate.now(), getFechaVencimiento());
+    }
+}
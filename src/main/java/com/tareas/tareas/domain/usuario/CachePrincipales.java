@@ -0,0 +1,52 @@
+package com.tareas.tareas.domain.usuario;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Usuarios autenticados recientes, por email (el subject del token). Evita buscar al usuario en la
+// base de datos en cada request. Tiene tamaño maximo y vencimiento: UsuarioService invalida la entrada
+// al modificar o eliminar un usuario, AutenticacionService al volver a encriptar su clave en el login,
+// y el vencimiento acota cuanto puede durar un dato viejo
+// (por ejemplo si hay varias instancias de la aplicacion y el cambio se hizo en otra)
+@Component
+public class CachePrincipales {
+
+    private final Cache<String, Usuario> usuarios;
+
+    public CachePrincipales(@Value("${api.security.principales.duracion:5m}") Duration duracion,
+                            @Value("${api.security.principales.maximo:10000}") long maximo) {
+        this.usuarios = Caffeine.newBuilder()
+                .expireAfterWrite(duracion)
+                .maximumSize(maximo)
+                .build();
+    }
+
+    // si el usuario no esta se carga con la funcion recibida; un usuario inexistente (null) no se guarda
+    public Usuario obtener(String email, Function<String, Usuario> cargar) {
+        return usuarios.get(email, cargar);
+    }
+
+    // Se invalida en el momento y, si hay una transaccion en curso, otra vez al confirmarla:
+    // un request concurrente podria volver a cargar el usuario viejo antes del commit
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        usuarios.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    usuarios.invalidate(email);
+                }
+            });
+        }
+    }
+}
@@ -1,4 +1,4 @@
 package com.tareas.tareas.domain.usuario;
 
-public record DatosJWTToken(String jwToken) {
+public record DatosJWTToken(String jwToken, String tokenRefresco) {
 }
@@ -0,0 +1,10 @@
+package com.tareas.tareas.domain.usuario;
+
+import java.util.List;
+
+public record DatosPaginaUsuarios(
+        List<DatosResumenUsuario> usuarios,
+        String siguienteCursor,       // null cuando no hay mas paginas
+        boolean hayMas
+) {
+}
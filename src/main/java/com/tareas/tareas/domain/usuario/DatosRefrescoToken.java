@@ -0,0 +1,6 @@
+package com.tareas.tareas.domain.usuario;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DatosRefrescoToken(@NotBlank String tokenRefresco) {
+}
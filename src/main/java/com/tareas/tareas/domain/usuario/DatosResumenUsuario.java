@@ -0,0 +1,12 @@
+package com.tareas.tareas.domain.usuario;
+
+// Una fila del listado paginado de usuarios: datos del usuario y cuantas tareas tiene, sin las tareas
+public record DatosResumenUsuario(
+        Long id,
+        String nombre,
+        String apellido,
+        String email,
+        Role role,
+        Long cantidadTareas
+) {
+}
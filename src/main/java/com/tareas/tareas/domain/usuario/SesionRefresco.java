@@ -0,0 +1,14 @@
+package com.tareas.tareas.domain.usuario;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Lo que hace falta de un refresh token para renovar el acceso, con el email del usuario para armar el JWT
+public record SesionRefresco(
+        String email,
+        Long usuarioId,
+        UUID sesion,
+        Instant expira,
+        boolean usado
+) {
+}
@@ -0,0 +1,29 @@
+package com.tareas.tareas.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Refresh token emitido (ver TokenRefrescoService): del token solo se guarda su hash
+@Entity(name = "TokenRefresco")
+@Table(name = "tokens_refresco")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "hash")
+public class TokenRefresco {
+
+    @Id
+    private byte[] hash;
+
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    private UUID sesion;
+
+    private Instant expira;
+
+    private boolean usado;
+}
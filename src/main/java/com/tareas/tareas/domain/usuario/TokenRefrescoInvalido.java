@@ -0,0 +1,10 @@
+package com.tareas.tareas.domain.usuario;
+
+// El refresh token no existe, vencio, fue revocado o ya se habia usado. Se responde 401 (ver TratadoDeErrores)
+// y el cliente tiene que volver a hacer login
+public class TokenRefrescoInvalido extends RuntimeException {
+
+    public TokenRefrescoInvalido() {
+        super("Token de refresco invalido o vencido");
+    }
+}
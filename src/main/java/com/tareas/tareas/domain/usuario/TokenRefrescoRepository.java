@@ -0,0 +1,44 @@
+package com.tareas.tareas.domain.usuario;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TokenRefrescoRepository extends JpaRepository<TokenRefresco, byte[]> {
+
+    // el token con el email de su usuario, en una sola consulta
+    @Query("""
+            SELECT new com.tareas.tareas.domain.usuario.SesionRefresco(u.email, t.usuarioId, t.sesion, t.expira, t.usado)
+            FROM TokenRefresco t JOIN Usuario u ON u.id = t.usuarioId
+            WHERE t.hash = :hash
+            """)
+    Optional<SesionRefresco> buscarSesion(@Param("hash") byte[] hash);
+
+    // Solo uno de dos refrescos simultaneos con el mismo token puede marcarlo: el otro recibe 0
+    @Modifying
+    @Query(value = "UPDATE tokens_refresco SET usado = TRUE WHERE hash = :hash AND NOT usado", nativeQuery = true)
+    int marcarUsado(@Param("hash") byte[] hash);
+
+    @Modifying
+    @Query(value = "INSERT INTO tokens_refresco (hash, usuario_id, sesion, expira) VALUES (:hash, :usuarioId, :sesion, :expira)",
+            nativeQuery = true)
+    int insertar(@Param("hash") byte[] hash, @Param("usuarioId") Long usuarioId,
+                 @Param("sesion") UUID sesion, @Param("expira") Instant expira);
+
+    @Modifying
+    @Query(value = "DELETE FROM tokens_refresco WHERE sesion = :sesion", nativeQuery = true)
+    int eliminarSesion(@Param("sesion") UUID sesion);
+
+    @Modifying
+    @Query(value = "DELETE FROM tokens_refresco WHERE usuario_id = :usuarioId", nativeQuery = true)
+    int eliminarDelUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tokens_refresco WHERE expira < :ahora", nativeQuery = true)
+    int eliminarVencidos(@Param("ahora") Instant ahora);
+}
@@ -0,0 +1,143 @@
+package com.tareas.tareas.domain.usuario;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// Refresh tokens: el login entrega uno junto con el JWT y POST /auth/refresh lo cambia por un JWT nuevo y el
+// siguiente refresh token, sin pasar por BCrypt. Cada token sirve una sola vez (rotacion): si un token ya usado
+// vuelve a llegar, alguien mas lo tiene, y se revoca toda la sesion (todos los tokens que salieron de ese login).
+//
+// En la base solo se guarda el hash SHA-256 de cada token. Los tokens emitidos por esta instancia quedan en una
+// cache por hash, asi el refresco no consulta la base: la marca de usado (UPDATE ... WHERE NOT usado) es la que
+// decide, y un token revocado desde otra instancia no pasa aunque siga en esta cache
+@Service
+public class TokenRefrescoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRefrescoService.class);
+    private static final int BYTES_TOKEN = 32;
+
+    private final TokenRefrescoRepository tokenRefrescoRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration duracion;
+    private final Cache<ByteBuffer, SesionRefresco> sesiones;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    public record Renovacion(String email, String tokenRefresco) {
+    }
+
+    public TokenRefrescoService(TokenRefrescoRepository tokenRefrescoRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${api.security.refresco.duracion:30d}") Duration duracion,
+                                @Value("${api.security.refresco.maximo:10000}") long maximo) {
+        this.tokenRefrescoRepository = tokenRefrescoRepository;
+        this.meterRegistry = meterRegistry;
+        this.duracion = duracion;
+        this.sesiones = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(duracion)
+                .build();
+    }
+
+    // primer token de una sesion nueva (login)
+    @Transactional
+    public String emitir(Usuario usuario) {
+        return emitir(usuario.getEmail(), usuario.getId(), UUID.randomUUID());
+    }
+
+    // Cambia el token por el siguiente de la misma sesion. No se deshace al fallar: si el token se reutilizo,
+    // la revocacion de la sesion tiene que quedar guardada aunque el refresco responda 401
+    @Transactional(noRollbackFor = TokenRefrescoInvalido.class)
+    public Renovacion renovar(String token) {
+        var hash = hash(token);
+        var clave = ByteBuffer.wrap(hash);
+        var sesion = sesiones.getIfPresent(clave);
+        if (sesion == null) {
+            sesion = tokenRefrescoRepository.buscarSesion(hash).orElseThrow(() -> rechazar("invalido"));
+        }
+        sesiones.invalidate(clave);
+        if (sesion.usado() || tokenRefrescoRepository.marcarUsado(hash) == 0) {
+            log.warn("Refresh token reutilizado: se revoca la sesion {} del usuario {}", sesion.sesion(), sesion.usuarioId());
+            revocarSesion(sesion.sesion());
+            throw rechazar("reutilizado");
+        }
+        if (sesion.expira().isBefore(Instant.now())) {
+            throw rechazar("invalido");
+        }
+        var siguiente = emitir(sesion.email(), sesion.usuarioId(), sesion.sesion());
+        meterRegistry.counter("seguridad.refresco", "resultado", "renovado").increment();
+        return new Renovacion(sesion.email(), siguiente);
+    }
+
+    // logout: revoca la sesion del token. Un token desconocido no es un error, la sesion ya no existe
+    @Transactional
+    public void revocar(String token) {
+        var hash = hash(token);
+        var sesion = sesiones.getIfPresent(ByteBuffer.wrap(hash));
+        if (sesion == null) {
+            sesion = tokenRefrescoRepository.buscarSesion(hash).orElse(null);
+        }
+        if (sesion != null) {
+            revocarSesion(sesion.sesion());
+        }
+    }
+
+    // todas las sesiones del usuario (al modificar sus datos o su clave)
+    @Transactional
+    public void revocarDelUsuario(Long usuarioId) {
+        tokenRefrescoRepository.eliminarDelUsuario(usuarioId);
+        sesiones.asMap().values().removeIf(s -> s.usuarioId().equals(usuarioId));
+    }
+
+    @Scheduled(cron = "${api.security.refresco.limpieza:0 45 3 * * *}")
+    @Transactional
+    public void eliminarVencidos() {
+        int eliminados = tokenRefrescoRepository.eliminarVencidos(Instant.now());
+        log.info("Limpieza de refresh tokens: {} vencidos eliminados", eliminados);
+    }
+
+    private String emitir(String email, Long usuarioId, UUID sesion) {
+        var bytes = new byte[BYTES_TOKEN];
+        aleatorio.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        var hash = hash(token);
+        var expira = Instant.now().plus(duracion);
+        tokenRefrescoRepository.insertar(hash, usuarioId, sesion, expira);
+        sesiones.put(ByteBuffer.wrap(hash), new SesionRefresco(email, usuarioId, sesion, expira, false));
+        return token;
+    }
+
+    private void revocarSesion(UUID sesion) {
+        tokenRefrescoRepository.eliminarSesion(sesion);
+        sesiones.asMap().values().removeIf(s -> s.sesion().equals(sesion));
+    }
+
+    private TokenRefrescoInvalido rechazar(String resultado) {
+        meterRegistry.counter("seguridad.refresco", "resultado", resultado).increment();
+        return new TokenRefrescoInvalido();
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
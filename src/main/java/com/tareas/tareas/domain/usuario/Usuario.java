@@ -4,6 +4,7 @@ import com.tareas.tareas.domain.tarea.DatosRespuestaTarea;
 import com.tareas.tareas.domain.tarea.Tarea;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -36,7 +37,9 @@ public class Usuario implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // al recorrer varios usuarios, las tareas se cargan de a 50 usuarios por consulta en lugar de una por usuario
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Tarea> tareas = new ArrayList<>();
 
     public Usuario(DatosCrearUsuario datos) {
@@ -1,9 +1,13 @@
 package com.tareas.tareas.domain.usuario;
 
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
@@ -12,5 +16,18 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
    Usuario findByEmail(@NotNull String email);
 
+    // Pagina de usuarios con id mayor a "desde", con la cantidad de tareas de cada uno,
+    // en una sola consulta (sin cargar las tareas)
+    @Query("""
+            SELECT new com.tareas.tareas.domain.usuario.DatosResumenUsuario(
+                u.id, u.nombre, u.apellido, u.email, u.role, COUNT(t)
+            )
+            FROM Usuario u LEFT JOIN u.tareas t
+            WHERE u.id > :desde
+            GROUP BY u.id, u.nombre, u.apellido, u.email, u.role
+            ORDER BY u.id
+            """)
+    List<DatosResumenUsuario> resumirDesde(@Param("desde") Long desde, Limit limite);
+
 
 }
@@ -3,32 +3,52 @@ package com.tareas.tareas.domain.usuario;
 
 import com.tareas.tareas.Validacion;
 import com.tareas.tareas.domain.tarea.DatosRespuestaTarea;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+// cada metodo publico se mide en el timer "servicio", etiquetado con la clase y el metodo (ver MetricasConfiguration)
 @Service
+@Timed(value = "servicio", histogram = true)
 public class UsuarioService {
 
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 20;
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+
     @Autowired
     UsuarioRepository usuarioRepository;
 
+    @Autowired
+    CachePrincipales cachePrincipales;
+
+    @Autowired
+    TokenRefrescoService tokenRefrescoService;
+
     public Usuario getUsuarioAutenticado() {
         Authentication auth = SecurityContextHolder
                 .getContext()
                 .getAuthentication();
 
+        // SecurityFilter ya dejo el usuario como principal, no hace falta volver a buscarlo
+        if (auth.getPrincipal() instanceof Usuario usuario) {
+            return usuario;
+        }
+
         String email = auth.getName();
 
-        return (Usuario) usuarioRepository.findByEmail(email);
+        return cachePrincipales.obtener(email, usuarioRepository::findByEmail);
     }
 
+    @Transactional(readOnly = true)
     public List<DatosRespuestaUsuario> listarUsuarios() {
         List<DatosRespuestaUsuario> usuarios = usuarioRepository.findAll().stream()
                 .map(u-> new DatosRespuestaUsuario(u.getId(),u.getNombre(),u.getEmail(),u.getTareas().stream().map(t-> new DatosRespuestaTarea(t)).toList()))
@@ -37,6 +57,46 @@ public class UsuarioService {
         return usuarios;
 
     }
+    // Listado paginado por id: cada usuario con la cantidad de tareas en lugar de todas sus tareas.
+    // El cursor es el id del ultimo usuario de la pagina anterior
+    @Transactional(readOnly = true)
+    public DatosPaginaUsuarios listarResumenUsuarios(String cursor, Integer tamanio) {
+        int limite = tamanioPagina(tamanio);
+        long desde = desdeCursor(cursor);
+
+        // pedimos un usuario de mas para saber si existe una pagina siguiente
+        List<DatosResumenUsuario> usuarios = usuarioRepository.resumirDesde(desde, Limit.of(limite + 1));
+        boolean hayMas = usuarios.size() > limite;
+        if (hayMas) {
+            usuarios = usuarios.subList(0, limite);
+        }
+
+        String siguienteCursor = hayMas ? String.valueOf(usuarios.get(usuarios.size() - 1).id()) : null;
+        return new DatosPaginaUsuarios(usuarios, siguienteCursor, hayMas);
+    }
+
+    private long desdeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new Validacion("El cursor no es válido");
+        }
+    }
+
+    private int tamanioPagina(Integer tamanio) {
+        if (tamanio == null) {
+            return TAMANIO_PAGINA_POR_DEFECTO;
+        }
+        if (tamanio < 1) {
+            throw new Validacion("El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(tamanio, TAMANIO_PAGINA_MAXIMO);
+    }
+
+    @Transactional(readOnly = true)
     public DatosRespuestaUsuario buscarUsuario(Long usuarioId){
         var usuario = usuarioRepository.findById(usuarioId);
 
@@ -67,7 +127,12 @@ public class UsuarioService {
 
         if(usuario.isPresent()){
             var usuarioEncontrado = usuario.get();
+            // el email puede cambiar: se invalida el anterior y el nuevo
+            cachePrincipales.invalidar(usuarioEncontrado.getEmail());
             usuarioEncontrado.actualizarUsuario(datos);
+            cachePrincipales.invalidar(usuarioEncontrado.getEmail());
+            // con otro email o clave, las sesiones abiertas no pueden seguir renovandose
+            tokenRefrescoService.revocarDelUsuario(usuarioEncontrado.getId());
 
             return new DatosRespuestaUsuario(usuarioEncontrado);
         }else{
@@ -82,6 +147,8 @@ public class UsuarioService {
 
         if(usuario.isPresent()){
             usuarioRepository.deleteById(id);
+            cachePrincipales.invalidar(usuario.get().getEmail());
+            tokenRefrescoService.revocarDelUsuario(id);
         }else{
             throw new Validacion("El usuario no existe");
         }
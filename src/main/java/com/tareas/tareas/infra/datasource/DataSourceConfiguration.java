@@ -0,0 +1,99 @@
+package com.tareas.tareas.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Replica de solo lectura. Si api.datasource.replica.url esta configurada, las transacciones
+// @Transactional(readOnly = true) usan un pool contra la replica y el resto (escrituras, Flyway,
+// llamadas sin transaccion) el pool de spring.datasource. Sin replica se usa el DataSource de siempre.
+//
+// La eleccion la hace LazyConnectionDataSourceProxy: entrega una conexion "perezosa" y recien pide la
+// real al ejecutar la primera sentencia, cuando la transaccion ya marco la conexion como readOnly
+@Configuration
+@ConditionalOnExpression("!'${api.datasource.replica.url:}'.isBlank()")
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource principalDataSource(DataSourceProperties properties,
+                                                ObjectProvider<JdbcConnectionDetails> detalles) {
+        var conexion = conexionPrincipal(properties, detalles);
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(conexion.getDriverClassName())
+                .url(conexion.getJdbcUrl())
+                .username(conexion.getUsername())
+                .password(conexion.getPassword())
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("api.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> detalles,
+                                              @Value("${api.datasource.replica.url}") String url,
+                                              @Value("${api.datasource.replica.username:}") String usuario,
+                                              @Value("${api.datasource.replica.password:}") String clave) {
+        // sin usuario propio se usan las credenciales de la base principal
+        var conexion = conexionPrincipal(properties, detalles);
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(conexion.getDriverClassName())
+                .url(url)
+                .username(usuario.isBlank() ? conexion.getUsername() : usuario)
+                .password(usuario.isBlank() ? conexion.getPassword() : clave)
+                .build();
+        dataSource.setPoolName("replica");
+        // la replica solo recibe transacciones de lectura; si alguna intenta escribir, la base la rechaza
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("principalDataSource") DataSource principal,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        var dataSource = new LazyConnectionDataSourceProxy(principal);
+        dataSource.setReadOnlyDataSource(replica);
+        return dataSource;
+    }
+
+    // spring.datasource, salvo que haya otra conexion registrada (por ejemplo @ServiceConnection de Testcontainers)
+    private JdbcConnectionDetails conexionPrincipal(DataSourceProperties properties,
+                                                    ObjectProvider<JdbcConnectionDetails> detalles) {
+        return detalles.getIfAvailable(() -> new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return properties.determineDriverClassName();
+            }
+        });
+    }
+}
@@ -1,7 +1,10 @@
 package com.tareas.tareas.infra.errores;
 
 import com.tareas.tareas.Validacion;
+import com.tareas.tareas.domain.usuario.TokenRefrescoInvalido;
+import com.tareas.tareas.infra.security.SobrecargaClaves;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -86,6 +89,27 @@ public class TratadoDeErrores {
                 .body(Collections.singletonMap("error", "Correo o Contraseña incorrectos"));
     }
 
+    // 401 CUANDO EL REFRESH TOKEN NO SIRVE: HAY QUE VOLVER A HACER LOGIN
+    @ExceptionHandler(TokenRefrescoInvalido.class)
+    public ResponseEntity manejarTokenRefrescoInvalido(TokenRefrescoInvalido e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Collections.singletonMap("error", e.getMessage()));
+    }
+
+    // 503 CUANDO HAY DEMASIADOS LOGINS O REGISTROS ESPERANDO BCRYPT
+    @ExceptionHandler(SobrecargaClaves.class)
+    public ResponseEntity<ErrorResponse> manejarSobrecargaClaves(SobrecargaClaves e) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servicio sobrecargado",
+                List.of(e.getMessage()),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     private record DatosErrorValidacion(String campo, String error){
         public DatosErrorValidacion(FieldError error) {
             this(error.getField(), error.getDefaultMessage());
@@ -0,0 +1,74 @@
+package com.tareas.tareas.infra.eventos;
+
+import com.tareas.tareas.domain.tarea.EventoTarea;
+import com.tareas.tareas.domain.tarea.TipoEventoTarea;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// Eventos pendientes de enviar a una conexion de GET /tareas/stream, con tamaño acotado.
+// Si el cliente no llega a leerlos se combinan por tarea (al cliente solo le sirve el ultimo estado de cada una)
+// y si aun asi superan la capacidad se descartan todos y se envia un unico RESINCRONIZAR
+public class ColaEventosTarea {
+
+    private final int capacidad;
+    private final LinkedHashMap<Long, EventoTarea> porTarea = new LinkedHashMap<>();
+    private EventoTarea resincronizar;
+
+    public ColaEventosTarea(int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    public synchronized void agregar(EventoTarea evento) {
+        if (resincronizar != null) {
+            // el cliente ya va a volver a pedir todo, no hace falta guardar nada mas
+            return;
+        }
+        if (evento.tipo() == TipoEventoTarea.RESINCRONIZAR) {
+            descartarPendientes(evento);
+            return;
+        }
+
+        var combinado = combinar(porTarea.remove(evento.tareaId()), evento);
+        if (combinado != null) {
+            porTarea.put(evento.tareaId(), combinado);
+        }
+        if (porTarea.size() > capacidad) {
+            descartarPendientes(EventoTarea.resincronizar(evento.usuarioId()));
+        }
+    }
+
+    // devuelve los eventos pendientes, en el orden en que se agregaron, y vacia la cola
+    public synchronized List<EventoTarea> tomar() {
+        if (resincronizar != null) {
+            var eventos = List.of(resincronizar);
+            resincronizar = null;
+            return eventos;
+        }
+        var eventos = List.copyOf(porTarea.values());
+        porTarea.clear();
+        return eventos;
+    }
+
+    public synchronized boolean vacia() {
+        return resincronizar == null && porTarea.isEmpty();
+    }
+
+    private void descartarPendientes(EventoTarea evento) {
+        porTarea.clear();
+        resincronizar = evento;
+    }
+
+    // una tarea creada y despues modificada sigue siendo nueva para el cliente;
+    // si se creo y se elimino antes de enviarla, el cliente no tiene por que enterarse
+    private static EventoTarea combinar(EventoTarea anterior, EventoTarea nuevo) {
+        if (anterior == null || anterior.tipo() != TipoEventoTarea.CREADA) {
+            return nuevo;
+        }
+        return switch (nuevo.tipo()) {
+            case MODIFICADA -> EventoTarea.creada(nuevo.usuarioId(), nuevo.tarea());
+            case ELIMINADA -> null;
+            default -> nuevo;
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.tareas.tareas.infra.eventos;
+
+import com.tareas.tareas.domain.tarea.EventoTarea;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Conexiones abiertas de GET /tareas/stream, por usuario, y reparto de los EventoTarea que publica TareaService.
+// Cada conexion es un request asincronico (SseEmitter): mientras no hay eventos no ocupa ningun hilo, solo el socket.
+// Publicar un evento no envia nada: lo deja en la cola de cada conexion del usuario (ColaEventosTarea, acotada)
+// y unos pocos hilos de envio la vacian. Asi un cliente lento no frena la escritura que genero el evento
+@Component
+public class SuscripcionesTareas {
+
+    private final Map<Long, Set<Suscriptor>> porUsuario = new ConcurrentHashMap<>();
+    private final ExecutorService envios;
+    private final Duration duracion;
+    private final int pendientesMaximo;
+
+    public SuscripcionesTareas(@Value("${api.tareas.stream.duracion:30m}") Duration duracion,
+                               @Value("${api.tareas.stream.pendientes:100}") int pendientesMaximo,
+                               @Value("${api.tareas.stream.hilos-envio:4}") int hilosEnvio,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.duracion = duracion;
+        this.pendientesMaximo = pendientesMaximo;
+        // un hilo virtual bloqueado en un cliente lento no le quita el hilo a nadie; los de plataforma se limitan
+        this.envios = hilosVirtuales
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stream-tareas-", 0).factory())
+                : Executors.newFixedThreadPool(hilosEnvio, new CustomizableThreadFactory("stream-tareas-"));
+    }
+
+    public SseEmitter suscribir(Long usuarioId) {
+        // al vencer la conexion el navegador (EventSource) vuelve a conectarse solo
+        var emitter = new SseEmitter(duracion.toMillis());
+        var suscriptor = new Suscriptor(usuarioId, emitter, new ColaEventosTarea(pendientesMaximo));
+
+        porUsuario.computeIfAbsent(usuarioId, id -> ConcurrentHashMap.newKeySet()).add(suscriptor);
+        emitter.onCompletion(() -> quitar(suscriptor));
+        emitter.onError(e -> quitar(suscriptor));
+        // vencer la conexion es lo normal, no un error: se cierra sin pasar por TratadoDeErrores
+        emitter.onTimeout(emitter::complete);
+
+        try {
+            // se envia algo de entrada para que el cliente reciba los headers y sepa que esta conectado
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException e) {
+            quitar(suscriptor);
+        }
+        return emitter;
+    }
+
+    // despues del commit: un cambio que se deshace no llega a los clientes.
+    // fallbackExecution: si se publica fuera de una transaccion se reparte en el momento
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(EventoTarea evento) {
+        var suscriptores = porUsuario.get(evento.usuarioId());
+        if (suscriptores == null) {
+            return;
+        }
+        for (var suscriptor : suscriptores) {
+            suscriptor.cola.agregar(evento);
+            programarEnvio(suscriptor);
+        }
+    }
+
+    // comentario periodico para que los proxies no corten las conexiones sin trafico
+    // y para detectar los clientes que se desconectaron
+    @Scheduled(fixedDelayString = "${api.tareas.stream.latido:25s}")
+    public void latir() {
+        porUsuario.values().forEach(suscriptores -> suscriptores.forEach(suscriptor -> {
+            suscriptor.latido.set(true);
+            programarEnvio(suscriptor);
+        }));
+    }
+
+    public int cantidadSuscriptores() {
+        return porUsuario.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        envios.shutdownNow();
+        porUsuario.values().forEach(suscriptores -> suscriptores.forEach(suscriptor -> suscriptor.emitter.complete()));
+    }
+
+    // a lo sumo un envio en curso por conexion: si ya hay uno, ese mismo toma los eventos nuevos
+    private void programarEnvio(Suscriptor suscriptor) {
+        if (suscriptor.enviando.compareAndSet(false, true)) {
+            try {
+                envios.execute(() -> enviar(suscriptor));
+            } catch (RejectedExecutionException e) {
+                suscriptor.enviando.set(false);
+            }
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            do {
+                if (suscriptor.latido.getAndSet(false)) {
+                    suscriptor.emitter.send(SseEmitter.event().comment("latido"));
+                }
+                for (var evento : suscriptor.cola.tomar()) {
+                    suscriptor.emitter.send(SseEmitter.event()
+                            .name(evento.tipo().name())
+                            .data(evento, MediaType.APPLICATION_JSON));
+                }
+                suscriptor.enviando.set(false);
+                // si llego algo entre tomar() y set(false), se sigue enviando desde aca
+            } while (suscriptor.tienePendientes() && suscriptor.enviando.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // el cliente se desconecto o la conexion ya estaba cerrada
+            quitar(suscriptor);
+        }
+    }
+
+    private void quitar(Suscriptor suscriptor) {
+        porUsuario.computeIfPresent(suscriptor.usuarioId, (id, suscriptores) -> {
+            suscriptores.remove(suscriptor);
+            return suscriptores.isEmpty() ? null : suscriptores;
+        });
+    }
+
+    private static final class Suscriptor {
+
+        private final Long usuarioId;
+        private final SseEmitter emitter;
+        private final ColaEventosTarea cola;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean latido = new AtomicBoolean();
+
+        private Suscriptor(Long usuarioId, SseEmitter emitter, ColaEventosTarea cola) {
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+            this.cola = cola;
+        }
+
+        private boolean tienePendientes() {
+            return latido.get() || !cola.vacia();
+        }
+    }
+}
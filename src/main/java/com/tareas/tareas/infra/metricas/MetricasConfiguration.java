@@ -0,0 +1,18 @@
+package com.tareas.tareas.infra.metricas;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Activa @Timed: los servicios anotados (TareaService, UsuarioService) publican un timer por metodo publico
+// con las etiquetas class, method y exception, visible en /actuator/metrics/servicio y /actuator/prometheus.
+// Solo se miden las llamadas que entran por el proxy de Spring, no las llamadas internas del mismo servicio
+@Configuration
+public class MetricasConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.tareas.tareas.infra.salud;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Conexion con la base (readiness). La prueba la hace un hilo propio cada api.salud.db.intervalo y el
+// health check solo lee el ultimo resultado: consultar /actuator/health/readiness no ocupa una conexion
+// del pool ni espera por una aunque el pool este lleno. Si la ultima prueba fallo, o hace mas de
+// api.salud.db.vigencia que no termina ninguna (la base o el pool no responden), queda DOWN
+@Component
+public class BaseDeDatosHealthIndicator implements HealthIndicator {
+
+    private static final int SEGUNDOS_PRUEBA = 2;
+
+    private final DataSource dataSource;
+    private final Duration intervalo;
+    private final Duration vigencia;
+    private final ScheduledExecutorService pruebas;
+
+    private volatile Resultado ultimo;
+
+    private record Resultado(boolean valida, Instant momento, String error) {
+    }
+
+    public BaseDeDatosHealthIndicator(DataSource dataSource,
+                                      @Value("${api.salud.db.intervalo:5s}") Duration intervalo,
+                                      @Value("${api.salud.db.vigencia:15s}") Duration vigencia) {
+        this.dataSource = dataSource;
+        this.intervalo = intervalo;
+        this.vigencia = vigencia;
+        var hilos = new CustomizableThreadFactory("salud-db-");
+        hilos.setDaemon(true);
+        this.pruebas = Executors.newSingleThreadScheduledExecutor(hilos);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        pruebas.scheduleWithFixedDelay(this::probar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        pruebas.shutdownNow();
+    }
+
+    @Override
+    public Health health() {
+        var resultado = ultimo;
+        if (resultado == null) {
+            return Health.outOfService().withDetail("motivo", "todavia no se probo la conexion").build();
+        }
+        var antiguedad = Duration.between(resultado.momento(), Instant.now());
+        if (antiguedad.compareTo(vigencia) > 0) {
+            return Health.down()
+                    .withDetail("motivo", "la ultima prueba termino hace " + antiguedad.toSeconds() + " s")
+                    .build();
+        }
+        var salud = resultado.valida() ? Health.up() : Health.down().withDetail("error", resultado.error());
+        return salud.withDetail("probada", resultado.momento().toString()).build();
+    }
+
+    // SELECT 1 y no isValid(): con replica el DataSource entrega conexiones perezosas (LazyConnectionDataSourceProxy)
+    // que recien van a la base al ejecutar una sentencia
+    void probar() {
+        try (var conexion = dataSource.getConnection(); var sentencia = conexion.createStatement()) {
+            sentencia.setQueryTimeout(SEGUNDOS_PRUEBA);
+            sentencia.execute("SELECT 1");
+            ultimo = new Resultado(true, Instant.now(), null);
+        } catch (Exception e) {
+            ultimo = new Resultado(false, Instant.now(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.tareas.tareas.infra.salud;
+
+import com.tareas.tareas.domain.tarea.DatosFiltroTarea;
+import com.tareas.tareas.domain.tarea.Estado;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.OrdenTarea;
+import com.tareas.tareas.domain.tarea.TareaRepository;
+import com.tareas.tareas.domain.tarea.TareaSpecification;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Calentamiento (readiness): al arrancar se recorren una vez las consultas mas usadas (filtros con cada
+// orden, la paginacion y la busqueda del usuario del login) para un id de usuario que no existe, asi
+// Hibernate ya tiene armados sus planes de consulta, el pool sus conexiones y el JIT compilado el camino
+// caliente antes de recibir trafico. Va directo a los repositorios: por TareaService quedarian muestras
+// falsas en sus timers y en tareas.filtrar.devueltas. No escribe nada en la base. Si falla se registra y
+// la instancia queda lista igual: el calentamiento solo adelanta trabajo que los primeros requests harian
+// de todos modos
+@Component
+public class CalentamientoHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(CalentamientoHealthIndicator.class);
+    // ningun usuario tiene id negativo: las consultas recorren el indice y no devuelven filas
+    private static final long SIN_USUARIO = -1L;
+    // primera pagina de GET /tareas: el tamanio por defecto mas la tarea que indica si hay otra pagina
+    private static final int LIMITE_PAGINA = 21;
+
+    private final TareaRepository tareaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate soloLectura;
+    private final boolean habilitado;
+
+    private volatile Duration duracion;
+
+    public CalentamientoHealthIndicator(TareaRepository tareaRepository,
+                                        UsuarioRepository usuarioRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${api.salud.calentamiento.habilitado:true}") boolean habilitado) {
+        this.tareaRepository = tareaRepository;
+        this.usuarioRepository = usuarioRepository;
+        // de solo lectura como las lecturas de TareaService: con replica configurada se calienta su pool
+        this.soloLectura = new TransactionTemplate(transactionManager);
+        this.soloLectura.setReadOnly(true);
+        this.habilitado = habilitado;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calentar() {
+        var inicio = System.nanoTime();
+        if (habilitado) {
+            try {
+                soloLectura.executeWithoutResult(estado -> recorrerConsultas());
+            } catch (Exception e) {
+                log.warn("Fallo el calentamiento: {}", e.getMessage());
+            }
+        }
+        duracion = Duration.ofNanos(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public Health health() {
+        var terminado = duracion;
+        if (terminado == null) {
+            return Health.outOfService().withDetail("motivo", "calentamiento en curso").build();
+        }
+        return Health.up().withDetail("duracionMs", terminado.toMillis()).build();
+    }
+
+    private void recorrerConsultas() {
+        var hoy = LocalDate.now();
+        var sinFiltros = new DatosFiltroTarea(null, null, null, null, null, null, null, null, null);
+        for (var orden : OrdenTarea.values()) {
+            tareaRepository.buscarOrdenadas(TareaSpecification.filtrar(sinFiltros, SIN_USUARIO, hoy),
+                    orden.claves(false, hoy));
+        }
+        var completo = new DatosFiltroTarea("calentamiento", Estado.PENDIENTE, Importancia.ALTA,
+                hoy.minusDays(30), hoy, true, 7, null, null);
+        tareaRepository.buscarOrdenadas(TareaSpecification.filtrar(completo, SIN_USUARIO, hoy),
+                OrdenTarea.desde(null).claves(false, hoy));
+        tareaRepository.buscarPagina(TareaSpecification.delUsuario(SIN_USUARIO),
+                OrdenTarea.ID.claves(false, hoy), null, LIMITE_PAGINA);
+        usuarioRepository.findByEmail("calentamiento@tareas.invalid");
+    }
+}
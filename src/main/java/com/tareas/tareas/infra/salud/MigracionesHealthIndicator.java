@@ -0,0 +1,41 @@
+package com.tareas.tareas.infra.salud;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Migraciones de Flyway (readiness): mientras haya migraciones pendientes (por ejemplo otra instancia
+// las esta aplicando sobre la misma base) la instancia no esta lista. Una vez aplicadas la version
+// no vuelve a cambiar hasta el proximo despliegue, asi que se deja de consultar la base
+@Component
+public class MigracionesHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<Flyway> flyway;
+
+    private volatile String versionAplicada;
+
+    public MigracionesHealthIndicator(ObjectProvider<Flyway> flyway) {
+        this.flyway = flyway;
+    }
+
+    @Override
+    public Health health() {
+        if (versionAplicada != null) {
+            return Health.up().withDetail("version", versionAplicada).build();
+        }
+        var migraciones = flyway.getIfAvailable();
+        if (migraciones == null) {
+            return Health.unknown().withDetail("motivo", "Flyway no esta configurado").build();
+        }
+        var info = migraciones.info();
+        var pendientes = info.pending().length;
+        var actual = info.current() == null ? "ninguna" : info.current().getVersion().getVersion();
+        if (pendientes > 0) {
+            return Health.outOfService().withDetail("version", actual).withDetail("pendientes", pendientes).build();
+        }
+        versionAplicada = actual;
+        return Health.up().withDetail("version", actual).build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tareas.tareas.infra.salud;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Saturacion de los pools de conexiones (readiness): si en algun pool hay mas de api.salud.pool.esperando-maximo
+// requests esperando una conexion, la instancia deja de estar lista y el balanceador deja de mandarle trafico
+// en lugar de encolarlo (cada request en espera puede tardar hasta DB_POOL_ESPERA_MS y despues fallar).
+// Vuelve a estar lista sola cuando la cola baja. Solo lee contadores de Hikari, no toca la base
+@Component
+public class PoolConexionesHealthIndicator implements HealthIndicator {
+
+    private final List<HikariDataSource> pools;
+    private final int esperandoMaximo;
+
+    public PoolConexionesHealthIndicator(List<HikariDataSource> pools,
+                                         @Value("${api.salud.pool.esperando-maximo:5}") int esperandoMaximo) {
+        this.pools = pools;
+        this.esperandoMaximo = esperandoMaximo;
+    }
+
+    @Override
+    public Health health() {
+        var salud = Health.up();
+        for (var pool : pools) {
+            var estado = pool.getHikariPoolMXBean();
+            if (estado == null) {
+                // el pool todavia no abrio ninguna conexion
+                continue;
+            }
+            Map<String, Object> detalle = new LinkedHashMap<>();
+            detalle.put("activas", estado.getActiveConnections());
+            detalle.put("inactivas", estado.getIdleConnections());
+            detalle.put("maximo", pool.getMaximumPoolSize());
+            detalle.put("esperando", estado.getThreadsAwaitingConnection());
+            salud.withDetail(pool.getPoolName(), detalle);
+            if (estado.getThreadsAwaitingConnection() > esperandoMaximo) {
+                salud.down();
+            }
+        }
+        return salud.withDetail("esperandoMaximo", esperandoMaximo).build();
+    }
+}
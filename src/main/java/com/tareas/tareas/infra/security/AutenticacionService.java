@@ -2,19 +2,25 @@ package com.tareas.tareas.infra.security;
 
 
 import com.tareas.tareas.Validacion;
+import com.tareas.tareas.domain.usuario.CachePrincipales;
 import com.tareas.tareas.domain.usuario.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class AutenticacionService implements UserDetailsService {
+public class AutenticacionService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private CachePrincipales cachePrincipales;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         var usuario = usuarioRepository.findByEmail(username);
@@ -25,4 +31,16 @@ public class AutenticacionService implements UserDetailsService {
             throw new Validacion("El email no existe");
         }
     }
+
+    // despues de un login correcto, si la clave guardada usa otro costo de BCrypt (ver SecurityConfiguration.passwordEncoder),
+    // DaoAuthenticationProvider la vuelve a encriptar con el costo actual y la guarda aca. El usuario en
+    // CachePrincipales tiene la clave anterior, asi que se invalida como al modificar el usuario
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var usuario = usuarioRepository.findByEmail(user.getUsername());
+        usuario.setClave(newPassword);
+        cachePrincipales.invalidar(usuario.getEmail());
+        return usuario;
+    }
 }
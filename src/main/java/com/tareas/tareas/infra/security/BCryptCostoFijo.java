@@ -0,0 +1,29 @@
+package com.tareas.tareas.infra.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Pattern;
+
+// BCrypt con el costo configurado (api.security.bcrypt.costo) que pide volver a encriptar las claves guardadas
+// con cualquier otro costo, mayor o menor: BCryptPasswordEncoder solo lo pide cuando el guardado es menor,
+// y bajar el costo tambien tiene que llegar a las claves que ya estan en la base
+class BCryptCostoFijo extends BCryptPasswordEncoder {
+
+    private static final Pattern COSTO = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int costo;
+
+    BCryptCostoFijo(int costo) {
+        super(costo);
+        this.costo = costo;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String claveEncriptada) {
+        if (claveEncriptada == null) {
+            return false;
+        }
+        var encontrado = COSTO.matcher(claveEncriptada);
+        return encontrado.find() && Integer.parseInt(encontrado.group(1)) != costo;
+    }
+}
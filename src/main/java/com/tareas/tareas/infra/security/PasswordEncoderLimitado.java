@@ -0,0 +1,71 @@
+package com.tareas.tareas.infra.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// PasswordEncoder que corre BCrypt en un pool propio de api.security.bcrypt.hilos hilos (por defecto la mitad
+// de los procesadores) con una cola de api.security.bcrypt.cola pedidos. Una rafaga de logins ocupa como mucho
+// esos hilos y el resto de la CPU sigue atendiendo los endpoints de tareas; con la cola llena se rechaza el
+// pedido (SobrecargaClaves, 503) en lugar de seguir acumulando espera. El pool se publica en executor.* (name=bcrypt)
+class PasswordEncoderLimitado implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor ejecutor;
+
+    PasswordEncoderLimitado(PasswordEncoder encoder, int hilos, int cola, MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        int tamanio = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        var fabrica = new CustomizableThreadFactory("bcrypt-");
+        fabrica.setDaemon(true);
+        this.ejecutor = new ThreadPoolExecutor(tamanio, tamanio, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), fabrica, new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(ejecutor, "bcrypt", List.of()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence clave) {
+        return ejecutar(() -> encoder.encode(clave));
+    }
+
+    @Override
+    public boolean matches(CharSequence clave, String claveEncriptada) {
+        return ejecutar(() -> encoder.matches(clave, claveEncriptada));
+    }
+
+    // solo compara el costo guardado, no hace falta mandarlo al pool
+    @Override
+    public boolean upgradeEncoding(String claveEncriptada) {
+        return encoder.upgradeEncoding(claveEncriptada);
+    }
+
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+    }
+
+    private <T> T ejecutar(Callable<T> operacion) {
+        try {
+            return ejecutor.submit(operacion).get();
+        } catch (RejectedExecutionException e) {
+            throw new SobrecargaClaves();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpio la espera de BCrypt", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tareas.tareas.infra.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// PasswordEncoder que mide cuanto tarda cada operacion del encoder real (BCrypt) en seguridad.clave:
+// operacion=verificar en cada login y operacion=encriptar en cada registro o cambio de clave
+class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder encoder;
+    private final Timer encriptar;
+    private final Timer verificar;
+
+    PasswordEncoderMedido(PasswordEncoder encoder, MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.encriptar = timer(meterRegistry, "encriptar");
+        this.verificar = timer(meterRegistry, "verificar");
+    }
+
+    @Override
+    public String encode(CharSequence clave) {
+        return encriptar.record(() -> encoder.encode(clave));
+    }
+
+    @Override
+    public boolean matches(CharSequence clave, String claveEncriptada) {
+        return verificar.record(() -> encoder.matches(clave, claveEncriptada));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String claveEncriptada) {
+        return encoder.upgradeEncoding(claveEncriptada);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operacion) {
+        return Timer.builder("seguridad.clave")
+                .tag("operacion", operacion)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
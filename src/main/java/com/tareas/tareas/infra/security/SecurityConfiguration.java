@@ -1,7 +1,10 @@
 package com.tareas.tareas.infra.security;
 
+import jakarta.servlet.DispatcherType;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +13,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,6 +22,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 
 @Configuration
@@ -40,10 +44,15 @@ public class SecurityConfiguration {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authRequest -> // filtro para rutas privadas y protegidos
                         authRequest
+                                // el request ya se autorizo al entrar; la segunda pasada de un request asincronico
+                                // (GET /tareas/stream al cerrarse) no trae el token
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/auth/login").permitAll()
+                                .requestMatchers(HttpMethod.POST, "/auth/refresh", "/auth/logout").permitAll()
                                 .requestMatchers(HttpMethod.POST, "/auth/registro").permitAll()// especificamos que el request matchee con una ruta, en este caso la ruta /auth/** que es por la cual se va a registrar y logear el usuario, y debe ser publica, con el permitAll le decimos que tiene permitodo el acceso
                                 .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
-                                .requestMatchers("/health").permitAll()
+                                .requestMatchers("/health", "/actuator/health", "/actuator/health/**").permitAll()
+                                .requestMatchers("/actuator/metrics/**", "/actuator/prometheus").hasAuthority("ADMIN")
                                 .anyRequest().authenticated() // y a cualquier otro request o solicitud, se va a tener que autenticar
                 )
                 .cors(cors -> {})
@@ -57,9 +66,19 @@ public class SecurityConfiguration {
         return config.getAuthenticationManager();
     }
 
+    // BCrypt con costo configurable. Las claves se guardan como {bcrypt}$2a$... y las anteriores, sin prefijo,
+    // se siguen verificando con BCrypt. Si la clave guardada no tiene prefijo o usa otro costo, se vuelve a
+    // encriptar en el siguiente login correcto (ver AutenticacionService.updatePassword), asi cambiar
+    // api.security.bcrypt.costo llega a todos los usuarios sin migrar la tabla
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.bcrypt.costo:10}") int costo,
+                                           @Value("${api.security.bcrypt.hilos:0}") int hilos,
+                                           @Value("${api.security.bcrypt.cola:200}") int cola) {
+        var bcrypt = new BCryptCostoFijo(costo);
+        var porId = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        porId.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new PasswordEncoderLimitado(new PasswordEncoderMedido(porId, meterRegistry), hilos, cola, meterRegistry);
     }
 
     @Bean
@@ -68,6 +87,8 @@ public class SecurityConfiguration {
         config.setAllowedOrigins(List.of("https://tustareas.vercel.app","http://localhost:5173"));
         config.setAllowedMethods(List.of("GET","POST","PUT","DELETE","OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // el front puede leer el ETag de GET /tareas y /tareas/estadisticas para mandarlo en If-None-Match
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,6 +1,10 @@
 package com.tareas.tareas.infra.security;
 
+import com.tareas.tareas.domain.usuario.CachePrincipales;
 import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +24,21 @@ public class SecurityFilter extends OncePerRequestFilter {
     private TokenService tokenService;
     @Autowired
     private UsuarioRepository usuarioRepository;
+    @Autowired
+    private CachePrincipales cachePrincipales;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // seguridad.jwt.verificacion: cuanto tarda getSubject (con la cache de tokens verificados incluida),
+    // separado por resultado. Un timer por resultado, registrados una sola vez
+    private Timer verificacionValida;
+    private Timer verificacionInvalida;
+
+    @PostConstruct
+    void registrarMetricas() {
+        verificacionValida = timerVerificacion("valido");
+        verificacionInvalida = timerVerificacion("invalido");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,10 +48,10 @@ public class SecurityFilter extends OncePerRequestFilter {
             var token = authHeader.replace("Bearer ", "");
 
             try {
-                var nombreUsuario = tokenService.getSubject(token); // extract username
+                var nombreUsuario = verificar(token); // extract username
 
-                // Token valido
-                var usuario = usuarioRepository.findByEmail(nombreUsuario);
+                // Token valido: el usuario sale de la cache, solo se consulta la base si no esta
+                var usuario = cachePrincipales.obtener(nombreUsuario, usuarioRepository::findByEmail);
 
 
                 var authentication = new UsernamePasswordAuthenticationToken(usuario, null,
@@ -47,4 +66,23 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private String verificar(String token) {
+        var muestra = Timer.start(meterRegistry);
+        var valido = false;
+        try {
+            var nombreUsuario = tokenService.getSubject(token);
+            valido = true;
+            return nombreUsuario;
+        } finally {
+            muestra.stop(valido ? verificacionValida : verificacionInvalida);
+        }
+    }
+
+    private Timer timerVerificacion(String resultado) {
+        return Timer.builder("seguridad.jwt.verificacion")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
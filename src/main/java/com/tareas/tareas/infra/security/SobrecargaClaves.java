@@ -0,0 +1,10 @@
+package com.tareas.tareas.infra.security;
+
+// La cola de PasswordEncoderLimitado esta llena: hay demasiados logins o registros esperando BCrypt.
+// Se responde 503 (ver TratadoDeErrores) para que el cliente reintente en lugar de encolar mas trabajo
+public class SobrecargaClaves extends RuntimeException {
+
+    public SobrecargaClaves() {
+        super("Demasiadas solicitudes de autenticacion, intente nuevamente en unos segundos");
+    }
+}
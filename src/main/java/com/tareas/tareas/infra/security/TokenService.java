@@ -1,33 +1,82 @@
 package com.tareas.tareas.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.tareas.tareas.domain.usuario.Usuario;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HexFormat;
 
 @Service
 public class TokenService {
 
+    private static final String EMISOR = "tareas";
+
+    // un token sin fecha de expiracion (no deberia pasar, generarToken siempre la pone) no se guarda mas que esto
+    private static final Duration DURACION_MAXIMA_VERIFICADO = Duration.ofMinutes(10);
+
     @Value("${api.security.secret}")
     private String apiSecret;
 
+    @Value("${api.security.tokens-verificados.maximo:10000}")
+    private long maximoTokensVerificados = 10000;
+
+    // vencido el JWT, el cliente pide otro con su refresh token (POST /auth/refresh, ver TokenRefrescoService)
+    @Value("${api.security.token.duracion:2h}")
+    private Duration duracionToken = Duration.ofHours(2);
+
+    // Algoritmo, verificador (ambos thread-safe) y tokens ya verificados se arman una sola vez al iniciar
+    private Firma firma;
+
+    // tokensVerificados: por hash SHA-256 del token, hasta que expira. Un token repetido no vuelve a
+    // pasar por la verificacion HMAC ni por el parseo del JSON
+    private record Firma(Algorithm algorithm, JWTVerifier verifier, Cache<String, TokenVerificado> tokensVerificados) {
+    }
+
+    private record TokenVerificado(String subject, Instant expiracion) {
+    }
+
+    @PostConstruct
+    void inicializar() {
+        configurarSecreto(apiSecret);
+    }
+
+    // con un secreto vacio la aplicacion no arranca
+    void configurarSecreto(String secreto) {
+        if (secreto == null || secreto.isBlank()) {
+            throw new IllegalArgumentException("El secreto de JWT no puede estar vacio");
+        }
+        Algorithm algorithm = Algorithm.HMAC256(secreto);
+        Cache<String, TokenVerificado> tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(maximoTokensVerificados)
+                .expireAfter(Expiry.creating((String hash, TokenVerificado t) -> hastaExpirar(t)))
+                .build();
+
+        this.firma = new Firma(algorithm, JWT.require(algorithm).withIssuer(EMISOR).build(), tokensVerificados);
+    }
+
     public String generarToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
             return JWT.create()
-                    .withIssuer("tareas")
+                    .withIssuer(EMISOR)
                     .withSubject(usuario.getEmail())
                     .withClaim("id", usuario.getId())
                     .withExpiresAt(generarFechaExpiracion())
-                    .sign(algorithm);
+                    .sign(firma.algorithm());
         } catch (JWTCreationException exception){
             throw new RuntimeException();
         }
@@ -37,25 +86,54 @@ public class TokenService {
         if (token == null) {
             throw new RuntimeException("TOKEN ES NULO");
         }
-        DecodedJWT verifier = null;
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret); // validando firma
-            verifier = JWT.require(algorithm)
-                    .withIssuer("tareas")
-                    .build()
-                    .verify(token);
-            verifier.getSubject();
-        } catch (JWTVerificationException exception) {
-            System.out.println(exception.toString());
+        String hash = hash(token);
+        TokenVerificado verificado = firma.tokensVerificados().getIfPresent(hash);
+        if (verificado != null && verificado.expiracion().isAfter(Instant.now())) {
+            return verificado.subject();
         }
-        if (verifier.getSubject() == null) {
+
+        DecodedJWT decodificado = verificar(firma, token);
+        if (decodificado.getSubject() == null) {
             throw new RuntimeException("Verifier invalido");
         }
-        return verifier.getSubject();
+        firma.tokensVerificados().put(hash, new TokenVerificado(decodificado.getSubject(), expiracion(decodificado)));
+        return decodificado.getSubject();
+    }
+
+    // verificacion completa (firma, emisor y expiracion) sin pasar por la cache
+    DecodedJWT verificar(String token) {
+        return verificar(firma, token);
+    }
+
+    private static DecodedJWT verificar(Firma firma, String token) {
+        try {
+            return firma.verifier().verify(token);
+        } catch (JWTVerificationException exception) {
+            throw new RuntimeException("Verifier invalido", exception);
+        }
     }
 
     private Instant generarFechaExpiracion() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-05:00"));
+        return Instant.now().plus(duracionToken);
+    }
+
+    private static Instant expiracion(DecodedJWT decodificado) {
+        Instant expiracion = decodificado.getExpiresAtAsInstant();
+        return expiracion != null ? expiracion : Instant.now().plus(DURACION_MAXIMA_VERIFICADO);
+    }
+
+    private static Duration hastaExpirar(TokenVerificado token) {
+        Duration restante = Duration.between(Instant.now(), token.expiracion());
+        return restante.isNegative() ? Duration.ZERO : restante;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
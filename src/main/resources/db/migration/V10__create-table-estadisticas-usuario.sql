@@ -0,0 +1,16 @@
+CREATE TABLE estadisticas_usuario (
+    usuario_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL DEFAULT 0,
+    pendientes BIGINT NOT NULL DEFAULT 0,
+    en_progreso BIGINT NOT NULL DEFAULT 0,
+    completadas BIGINT NOT NULL DEFAULT 0,
+    canceladas BIGINT NOT NULL DEFAULT 0,
+    importancia_alta BIGINT NOT NULL DEFAULT 0,
+    importancia_media BIGINT NOT NULL DEFAULT 0,
+    importancia_baja BIGINT NOT NULL DEFAULT 0,
+    vencidas BIGINT NOT NULL DEFAULT 0,
+    completadas_hoy BIGINT NOT NULL DEFAULT 0,
+    completadas_semana BIGINT NOT NULL DEFAULT 0,
+    fecha_corte DATE NOT NULL,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
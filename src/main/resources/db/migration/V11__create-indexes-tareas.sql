@@ -0,0 +1,28 @@
+-- Indices para las consultas de TareaRepository: todas filtran por usuario_id y despues
+-- por estado, importancia, rango de vencimiento u ordenan por alguna columna.
+-- (usuario_id, nombre) ya tiene indice por la restriccion uk_tarea_usuario_nombre
+
+-- findByUsuarioAndEstado, filtro por estado
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_estado
+    ON tareas (usuario_id, estado);
+
+-- findByUsuarioAndImportancia, filtro por importancia
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_importancia
+    ON tareas (usuario_id, importancia);
+
+-- findByUsuarioAndFechaVencimientoBetween y los ordenes por fecha de vencimiento
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_vencimiento
+    ON tareas (usuario_id, fecha_vencimiento, id);
+
+-- findByUsuarioOrderByFechaCreacionDesc y la paginacion por fecha de creacion
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_creacion
+    ON tareas (usuario_id, fecha_creacion DESC, id DESC);
+
+-- paginacion por id (orden por defecto de GET /tareas?tamanio=...)
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_id
+    ON tareas (usuario_id, id);
+
+-- findTareasVencidas y el filtro soloVencidas: solo las tareas activas, que son las unicas que pueden vencer
+CREATE INDEX IF NOT EXISTS idx_tareas_activas_vencimiento
+    ON tareas (usuario_id, fecha_vencimiento)
+    WHERE estado <> 'COMPLETADA' AND estado <> 'CANCELADA';
@@ -0,0 +1,10 @@
+-- Busqueda de texto en tareas: indices de trigramas (pg_trgm) sobre nombre y descripcion en minusculas.
+-- Sirven para LIKE '%texto%' (filtro busqueda de POST /tareas/filtrar y GET /tareas/nombre/{nombre})
+-- y para ordenar por similitud. Solo se usan cuando el texto buscado tiene al menos 3 caracteres
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tareas_nombre_trgm
+    ON tareas USING gin (lower(nombre) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tareas_descripcion_trgm
+    ON tareas USING gin (lower(descripcion) gin_trgm_ops);
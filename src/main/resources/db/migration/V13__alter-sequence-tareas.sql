@@ -0,0 +1,4 @@
+-- Tarea.id pasa de IDENTITY a secuencia con asignacion de a 50 (allocationSize de Tarea.id): Hibernate reserva
+-- 50 ids con un solo nextval y puede mandar los INSERT en lotes. Con IDENTITY necesitaba insertar fila por fila
+-- para conocer cada id. El DEFAULT de la columna sigue usando la misma secuencia
+ALTER SEQUENCE tareas_id_seq INCREMENT BY 50;
@@ -0,0 +1,7 @@
+-- Version de las tareas de cada usuario: se incrementa con cada alta, edicion o baja (ver VersionTareasService)
+-- y arma el ETag de GET /tareas y GET /tareas/estadisticas. Sin fila, la version es 0
+CREATE TABLE versiones_tareas (
+    usuario_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
@@ -0,0 +1,20 @@
+-- Refresh tokens (ver TokenRefrescoService). Se guarda solo el hash SHA-256 del token (32 bytes), nunca el token.
+-- sesion agrupa los tokens que salen de un mismo login: cada POST /auth/refresh marca el token como usado y crea
+-- el siguiente de la misma sesion. Los usados se guardan hasta que vencen para detectar si alguno se vuelve a usar
+CREATE TABLE tokens_refresco (
+    hash BYTEA PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    sesion UUID NOT NULL,
+    expira TIMESTAMP WITH TIME ZONE NOT NULL,
+    usado BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
+
+-- revocar todas las sesiones de un usuario (al modificarlo)
+CREATE INDEX idx_tokens_refresco_usuario ON tokens_refresco (usuario_id);
+
+-- revocar una sesion (logout o token reutilizado)
+CREATE INDEX idx_tokens_refresco_sesion ON tokens_refresco (sesion);
+
+-- limpieza diaria de los vencidos
+CREATE INDEX idx_tokens_refresco_expira ON tokens_refresco (expira);
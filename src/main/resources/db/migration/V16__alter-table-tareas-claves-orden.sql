@@ -0,0 +1,32 @@
+-- Claves de orden de la paginacion por cursor (ver OrdenTarea) como columnas calculadas por la base.
+-- Hibernate manda las constantes de una expresion como parametros (coalesce(fecha_vencimiento, ?),
+-- CASE WHEN importancia = ? THEN ? ...), y un indice sobre una expresion solo sirve si la consulta trae
+-- exactamente la misma expresion con las mismas constantes. Ordenando por estas columnas, los indices de
+-- abajo devuelven cada pagina ya ordenada y la cota del cursor es un rango del indice, sin Sort.
+-- Agregar una columna STORED reescribe la tabla una vez (con la tabla bloqueada mientras dura)
+
+-- sin fecha queda al final en orden ascendente, igual que OrdenTarea.SIN_FECHA
+ALTER TABLE tareas
+    ADD COLUMN fecha_vencimiento_orden DATE
+        GENERATED ALWAYS AS (coalesce(fecha_vencimiento, DATE '9999-12-31')) STORED;
+
+-- Hibernate (ddl-auto=update) lleva las columnas de enums a VARCHAR(255) al arrancar, y con la columna
+-- calculada de abajo ya no podria cambiarle el tipo a importancia: se deja con ese tipo antes de crearla
+ALTER TABLE tareas
+    ALTER COLUMN importancia TYPE VARCHAR(255);
+
+-- ALTA, MEDIA, BAJA en el orden en que estan declaradas en Importancia
+ALTER TABLE tareas
+    ADD COLUMN importancia_orden SMALLINT
+        GENERATED ALWAYS AS (CASE importancia WHEN 'ALTA' THEN 0 WHEN 'MEDIA' THEN 1 ELSE 2 END) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_vencimiento_orden
+    ON tareas (usuario_id, fecha_vencimiento_orden, id);
+
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_importancia_orden
+    ON tareas (usuario_id, importancia_orden, id);
+
+-- lower(nombre) no lleva constantes, asi que un indice de expresion coincide con el ORDER BY.
+-- Ordena con la collation de la columna, la misma que usa el ORDER BY
+CREATE INDEX IF NOT EXISTS idx_tareas_usuario_nombre_orden
+    ON tareas (usuario_id, lower(nombre), id);
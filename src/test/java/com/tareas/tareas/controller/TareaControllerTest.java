@@ -334,6 +334,39 @@ public class TareaControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @DisplayName("Si el cliente ya tiene la versión actual de sus tareas devuelve 304 sin armar la respuesta")
+    @WithMockUser
+    void listarMisTareasSinCambios() throws Exception {
+        when(tareaService.etagTareas(any())).thenReturn("\"1-7-2026-01-10\"");
+
+        var response = mvc.perform(get("/tareas").header("If-None-Match", "\"1-7-2026-01-10\""))
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsString()).isEmpty();
+        verify(tareaService, never()).obtenerTareasPorUsuario(any());
+    }
+
+    @Test
+    @DisplayName("Con una versión vieja devuelve 200 con el ETag nuevo")
+    @WithMockUser
+    void obtenerEstadisticasConVersionVieja() throws Exception {
+        var estadisticas = new DatosEstadisticasTarea(
+                0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L,
+                Map.of(), Map.of(),
+                0.0, 0.0, 0.0, 0.0, 0.0
+        );
+        when(tareaService.etagTareas(any())).thenReturn("\"1-8-2026-01-10\"");
+        when(tareaService.obtenerEstadisticas(any())).thenReturn(estadisticas);
 
+        var response = mvc.perform(get("/tareas/estadisticas").header("If-None-Match", "\"1-7-2026-01-10\""))
+                .andReturn()
+                .getResponse();
 
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"1-8-2026-01-10\"");
+        assertThat(response.getHeader("Cache-Control")).contains("no-cache");
+    }
 }
@@ -62,6 +62,9 @@ public class UsuarioControllerTest {
     @MockBean
     private AuthenticationManager authenticationManager;
 
+    @MockBean
+    private TokenRefrescoService tokenRefrescoService;
+
     @Test
     @DisplayName("Al registrar un usuario deberia devolver un 200 ok")
     void registrarUsuario() throws Exception {
@@ -153,8 +156,13 @@ public class UsuarioControllerTest {
                 .thenReturn(tokenFalso);
 
 
+        // y el refresh token de la sesion
+        var refrescoFalso = "refresco.falso";
+        when(tokenRefrescoService.emitir(usuario))
+                .thenReturn(refrescoFalso);
+
         // inicializamos la respuesta del logeo, que es el token, representado por el dto
-        DatosJWTToken tokenEsperado = new DatosJWTToken(tokenFalso);
+        DatosJWTToken tokenEsperado = new DatosJWTToken(tokenFalso, refrescoFalso);
 
         // simulamos la solicitud
         var response = mvc.perform(post("/auth/login")
@@ -0,0 +1,115 @@
+package com.tareas.tareas.domain;
+
+import com.tareas.tareas.domain.tarea.*;
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests de las claves de orden de tareas")
+class OrdenTareaTest {
+
+    private final LocalDate hoy = LocalDate.of(2025, 6, 15);
+    private final Usuario usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+    private long siguienteId = 1;
+
+    @Test
+    @DisplayName("El orden inteligente respeta vencidas, hoy, importancia, vencimiento y terminadas al final")
+    void ordenInteligente() {
+        // Arrange
+        var completada = tarea("Completada", Estado.COMPLETADA, Importancia.ALTA, hoy.minusDays(10), 1);
+        var bajaSinFecha = tarea("Baja sin fecha", Estado.PENDIENTE, Importancia.BAJA, null, 1);
+        var mediaProxima = tarea("Media proxima", Estado.PENDIENTE, Importancia.MEDIA, hoy.plusDays(2), 1);
+        var altaLejana = tarea("Alta lejana", Estado.EN_PROGRESO, Importancia.ALTA, hoy.plusDays(30), 1);
+        var altaProxima = tarea("Alta proxima", Estado.PENDIENTE, Importancia.ALTA, hoy.plusDays(3), 1);
+        var venceHoy = tarea("Vence hoy", Estado.PENDIENTE, Importancia.BAJA, hoy, 1);
+        var vencidaReciente = tarea("Vencida reciente", Estado.PENDIENTE, Importancia.ALTA, hoy.minusDays(1), 1);
+        var vencidaAntigua = tarea("Vencida antigua", Estado.EN_PROGRESO, Importancia.BAJA, hoy.minusDays(8), 1);
+        var canceladaNueva = tarea("Cancelada nueva", Estado.CANCELADA, Importancia.BAJA, null, 0);
+
+        var tareas = List.of(completada, bajaSinFecha, mediaProxima, altaLejana, altaProxima,
+                venceHoy, vencidaReciente, vencidaAntigua, canceladaNueva);
+
+        // Act
+        var ordenadas = ordenar(tareas, OrdenTarea.INTELIGENTE.claves(false, hoy));
+
+        // Assert
+        assertThat(ordenadas).containsExactly(
+                vencidaAntigua, vencidaReciente,
+                venceHoy,
+                altaProxima, altaLejana, mediaProxima, bajaSinFecha,
+                canceladaNueva, completada
+        );
+    }
+
+    @Test
+    @DisplayName("Ordenar por fecha de vencimiento deja las tareas sin fecha al final, y al principio en DESC")
+    void ordenPorFechaVencimiento() {
+        var sinFecha = tarea("Sin fecha", Estado.PENDIENTE, Importancia.ALTA, null, 1);
+        var lejana = tarea("Lejana", Estado.PENDIENTE, Importancia.ALTA, hoy.plusDays(9), 1);
+        var proxima = tarea("Proxima", Estado.PENDIENTE, Importancia.ALTA, hoy.plusDays(1), 1);
+        var tareas = List.of(sinFecha, lejana, proxima);
+
+        assertThat(ordenar(tareas, OrdenTarea.FECHA_VENCIMIENTO.claves(false, hoy)))
+                .containsExactly(proxima, lejana, sinFecha);
+        assertThat(ordenar(tareas, OrdenTarea.FECHA_VENCIMIENTO.claves(true, hoy)))
+                .containsExactly(sinFecha, lejana, proxima);
+    }
+
+    @Test
+    @DisplayName("Ordenar por importancia sigue el orden del enum y por nombre ignora mayúsculas")
+    void ordenPorImportanciaYNombre() {
+        var baja = tarea("banana", Estado.PENDIENTE, Importancia.BAJA, null, 1);
+        var alta = tarea("Cereza", Estado.PENDIENTE, Importancia.ALTA, null, 1);
+        var media = tarea("Anana", Estado.PENDIENTE, Importancia.MEDIA, null, 1);
+        var tareas = List.of(baja, alta, media);
+
+        assertThat(ordenar(tareas, OrdenTarea.IMPORTANCIA.claves(false, hoy)))
+                .containsExactly(alta, media, baja);
+        assertThat(ordenar(tareas, OrdenTarea.NOMBRE.claves(false, hoy)))
+                .containsExactly(media, baja, alta);
+    }
+
+    @Test
+    @DisplayName("El campo ordenarPor se traduce al orden correspondiente")
+    void ordenDesdeTexto() {
+        assertThat(OrdenTarea.desde(null)).isEqualTo(OrdenTarea.INTELIGENTE);
+        assertThat(OrdenTarea.desde("")).isEqualTo(OrdenTarea.INTELIGENTE);
+        assertThat(OrdenTarea.desde("fechaVencimiento")).isEqualTo(OrdenTarea.FECHA_VENCIMIENTO);
+        assertThat(OrdenTarea.desde("cualquiera")).isEqualTo(OrdenTarea.ID);
+    }
+
+    // ordena en memoria con los mismos valores que la base de datos usa en el ORDER BY
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Tarea> ordenar(List<Tarea> tareas, List<ClaveOrden> claves) {
+        Comparator<Tarea> comparador = (a, b) -> 0;
+        for (ClaveOrden clave : claves) {
+            Comparator<Tarea> porClave = Comparator.comparing(t -> (Comparable) clave.valor().apply(t));
+            comparador = comparador.thenComparing(clave.descendente() ? porClave.reversed() : porClave);
+        }
+        var ordenadas = new ArrayList<>(tareas);
+        ordenadas.sort(comparador);
+        return ordenadas;
+    }
+
+    private Tarea tarea(String nombre, Estado estado, Importancia importancia, LocalDate vencimiento, int diasDesdeCreacion) {
+        var tarea = new Tarea();
+        tarea.setId(siguienteId++);
+        tarea.setNombre(nombre);
+        tarea.setDescripcion("Desc");
+        tarea.setEstado(estado);
+        tarea.setImportancia(importancia);
+        tarea.setFechaVencimiento(vencimiento);
+        tarea.setFechaCreacion(LocalDateTime.of(2025, 6, 1, 10, 0).minusDays(diasDesdeCreacion));
+        tarea.setUsuario(usuario);
+        return tarea;
+    }
+}
@@ -0,0 +1,78 @@
+package com.tareas.tareas.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests del pool acotado de BCrypt y del costo fijo")
+class PasswordEncoderLimitadoTest {
+
+    @Test
+    @DisplayName("Con los hilos ocupados y la cola llena se rechaza con SobrecargaClaves")
+    void rechazaConColaLlena() throws Exception {
+        // Arrange: un hilo, un lugar en la cola y un encoder que se queda esperando
+        var ocupado = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        var encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenAnswer(invocacion -> {
+            ocupado.countDown();
+            liberar.await();
+            return true;
+        });
+        var clientes = Executors.newFixedThreadPool(2);
+        try (var limitado = new PasswordEncoderLimitado(encoder, 1, 1, new SimpleMeterRegistry())) {
+            var enCurso = clientes.submit(() -> limitado.matches("clave", "hash"));
+            assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+            var enCola = clientes.submit(() -> limitado.matches("clave", "hash"));
+            Thread.sleep(100);
+
+            // Act + Assert
+            assertThatThrownBy(() -> limitado.matches("clave", "hash")).isInstanceOf(SobrecargaClaves.class);
+
+            liberar.countDown();
+            assertThat(enCurso.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(enCola.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            clientes.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Los errores del encoder llegan al que llamó")
+    void propagaErrores() {
+        // Arrange
+        var encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenThrow(new IllegalArgumentException("clave invalida"));
+
+        try (var limitado = new PasswordEncoderLimitado(encoder, 1, 1, new SimpleMeterRegistry())) {
+            // Act + Assert
+            assertThatThrownBy(() -> limitado.encode("clave"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("clave invalida");
+        }
+    }
+
+    @Test
+    @DisplayName("Se pide reencriptar cualquier clave con otro costo, mayor o menor")
+    void reencriptaConOtroCosto() {
+        // Arrange
+        var bcrypt = new BCryptCostoFijo(5);
+
+        // Act + Assert
+        assertThat(bcrypt.upgradeEncoding(new BCryptCostoFijo(4).encode("clave"))).isTrue();
+        assertThat(bcrypt.upgradeEncoding(new BCryptCostoFijo(6).encode("clave"))).isTrue();
+        assertThat(bcrypt.upgradeEncoding(bcrypt.encode("clave"))).isFalse();
+        assertThat(bcrypt.upgradeEncoding("no-es-bcrypt")).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tareas.tareas.infra.security;
+
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests del servicio de Tokens")
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        tokenService = new TokenService();
+        tokenService.configurarSecreto("secreto-de-prueba");
+        usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+    }
+
+    @Test
+    @DisplayName("Un token generado debe devolver el email del usuario como subject")
+    void getSubjectDeTokenValido() {
+        // Arrange
+        var token = tokenService.generarToken(usuario);
+
+        // Act
+        var primera = tokenService.getSubject(token);
+        var segunda = tokenService.getSubject(token);
+
+        // Assert
+        assertThat(primera).isEqualTo("emi@gmail.com");
+        assertThat(segunda).isEqualTo("emi@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Un token modificado debe ser rechazado")
+    void getSubjectDeTokenModificado() {
+        // Arrange
+        var token = tokenService.generarToken(usuario);
+        var modificado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThatThrownBy(() -> tokenService.getSubject(modificado))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    @DisplayName("Un secreto vacío debe impedir armar la firma")
+    void secretoVacio() {
+        // Act & Assert
+        assertThatThrownBy(() -> new TokenService().configurarSecreto(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,318 @@
+package com.tareas.tareas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Prueba de carga de la API completa (Tomcat + PostgreSQL en Testcontainers), fuera del build normal:
+//   mvn -Pcarga test
+// Cada usuario simulado es un hilo virtual que hace login en /auth/login y despues repite, con una pausa
+// aleatoria entre requests, una mezcla de POST /tareas (25%), PUT /tareas/{id} (25%), POST /tareas/filtrar (30%)
+// y GET /tareas/estadisticas (20%). Lo que pasa durante el calentamiento no se mide (salvo el login).
+// Al final imprime p50, p99 y requests por segundo de cada endpoint (y los deja en target/carga-resultados.csv)
+// y falla si alguno supera los umbrales de carga-umbrales.properties. Todo se puede cambiar con -D, por ejemplo:
+//   mvn -Pcarga test -Dcarga.usuarios=5000 -Dcarga.duracion=300 -Dfiltrar.p99-ms=400
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"api.security.secret=secreto-de-prueba", "logging.level.root=WARN"})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Prueba de carga - API de tareas")
+class CargaApiTest {
+
+    private static final String CLAVE = "clave-de-carga";
+
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 2_000);
+    // segundos: en cuanto tiempo se conectan todos los usuarios, cuanto se corre sin medir y cuanto se mide
+    private static final int RAMPA = Integer.getInteger("carga.rampa", 30);
+    private static final int CALENTAMIENTO = Integer.getInteger("carga.calentamiento", 30);
+    private static final int DURACION = Integer.getInteger("carga.duracion", 60);
+    // pausa media entre requests de un mismo usuario, en milisegundos
+    private static final int PAUSA = Integer.getInteger("carga.pausa", 1_000);
+
+    private static final String[] FILTROS = {
+            "{\"importancia\":\"ALTA\",\"soloVencidas\":false}",
+            "{\"busqueda\":\"informe\",\"soloVencidas\":false,\"ordenarPor\":\"nombre\",\"direccion\":\"ASC\"}",
+            "{\"estado\":\"PENDIENTE\",\"soloVencidas\":false,\"ordenarPor\":\"fechaVencimiento\",\"direccion\":\"ASC\"}",
+            "{\"soloVencidas\":true}"
+    };
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final Map<Endpoint, Timer> tiempos = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> errores = new EnumMap<>(Endpoint.class);
+
+    private enum Endpoint {
+        LOGIN("POST /auth/login"),
+        CREAR("POST /tareas"),
+        EDITAR("PUT /tareas/{id}"),
+        FILTRAR("POST /tareas/filtrar"),
+        ESTADISTICAS("GET /tareas/estadisticas");
+
+        private final String descripcion;
+
+        Endpoint(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        private String clave() {
+            return name().toLowerCase();
+        }
+    }
+
+    @Test
+    @DisplayName("Latencia y throughput de cada endpoint dentro de los umbrales")
+    void cargaDentroDeUmbrales() throws Exception {
+        // Arrange: los usuarios se crean directo en la base, con la misma clave ya encriptada
+        var claveEncriptada = passwordEncoder.encode(CLAVE);
+        usuarioRepository.saveAll(IntStream.range(0, USUARIOS).mapToObj(i -> {
+            var usuario = new Usuario();
+            usuario.setNombre("Carga");
+            usuario.setApellido("Usuario " + i);
+            usuario.setEmail(email(i));
+            usuario.setClave(claveEncriptada);
+            usuario.setRole(Role.USER);
+            return usuario;
+        }).toList());
+        for (var endpoint : Endpoint.values()) {
+            tiempos.put(endpoint, Timer.builder("carga")
+                    .tag("endpoint", endpoint.clave())
+                    .publishPercentiles(0.5, 0.99)
+                    .percentilePrecision(2)
+                    // una sola ventana para toda la corrida (por defecto los percentiles son de los ultimos 2 minutos)
+                    .distributionStatisticExpiry(Duration.ofDays(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registro));
+            errores.put(endpoint, registro.counter("carga.errores", "endpoint", endpoint.clave()));
+        }
+
+        // Act
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + TimeUnit.SECONDS.toNanos(RAMPA + CALENTAMIENTO);
+        long fin = inicioMedicion + TimeUnit.SECONDS.toNanos(DURACION);
+        List<Future<Void>> simulados = new ArrayList<>();
+        try (var usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < USUARIOS; i++) {
+                int numero = i;
+                long conexion = inicio + TimeUnit.SECONDS.toNanos(RAMPA) * i / USUARIOS;
+                simulados.add(usuarios.submit(() -> {
+                    usuarioSimulado(numero, conexion, inicioMedicion, fin);
+                    return null;
+                }));
+            }
+        }
+        // un error inesperado en el cliente (no en la API) corta la prueba en lugar de quedar oculto
+        for (var simulado : simulados) {
+            simulado.get();
+        }
+
+        // Assert
+        var resultados = resultados();
+        informar(resultados);
+        verificarUmbrales(resultados);
+    }
+
+    private void usuarioSimulado(int numero, long conexion, long inicioMedicion, long fin) throws Exception {
+        var random = ThreadLocalRandom.current();
+        TimeUnit.NANOSECONDS.sleep(conexion - System.nanoTime());
+
+        var login = enviar(Endpoint.LOGIN, true, HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email(numero) + "\",\"clave\":\"" + CLAVE + "\"}")));
+        if (login == null) {
+            return;
+        }
+        var token = "Bearer " + objectMapper.readTree(login).get("jwToken").asText();
+
+        List<Long> tareas = new ArrayList<>();
+        while (System.nanoTime() < fin) {
+            boolean medir = System.nanoTime() >= inicioMedicion;
+            int operacion = random.nextInt(100);
+            if (operacion < 25 || tareas.isEmpty()) {
+                var creada = enviar(Endpoint.CREAR, medir, HttpRequest.newBuilder(uri("/tareas"))
+                        .header("Authorization", token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(tarea(numero, tareas.size(), random.nextInt(30) + 1))));
+                if (creada != null) {
+                    tareas.add(objectMapper.readTree(creada).get("id").asLong());
+                }
+            } else if (operacion < 50) {
+                int indice = random.nextInt(tareas.size());
+                enviar(Endpoint.EDITAR, medir, HttpRequest.newBuilder(uri("/tareas/" + tareas.get(indice)))
+                        .header("Authorization", token)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(edicion(numero, indice, random.nextInt(30) + 1))));
+            } else if (operacion < 80) {
+                enviar(Endpoint.FILTRAR, medir, HttpRequest.newBuilder(uri("/tareas/filtrar"))
+                        .header("Authorization", token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(FILTROS[random.nextInt(FILTROS.length)])));
+            } else {
+                enviar(Endpoint.ESTADISTICAS, medir, HttpRequest.newBuilder(uri("/tareas/estadisticas"))
+                        .header("Authorization", token)
+                        .GET());
+            }
+            Thread.sleep(random.nextLong(2L * PAUSA + 1));
+        }
+    }
+
+    // devuelve el cuerpo de la respuesta, o null si fallo
+    private String enviar(Endpoint endpoint, boolean medir, HttpRequest.Builder request) throws InterruptedException {
+        long inicio = System.nanoTime();
+        try {
+            var respuesta = cliente.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean exitosa = respuesta.statusCode() / 100 == 2;
+            if (medir) {
+                tiempos.get(endpoint).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                if (!exitosa) {
+                    errores.get(endpoint).increment();
+                }
+            }
+            return exitosa ? respuesta.body() : null;
+        } catch (IOException e) {
+            if (medir) {
+                errores.get(endpoint).increment();
+            }
+            return null;
+        }
+    }
+
+    private List<Resultado> resultados() {
+        return tiempos.entrySet().stream().map(entrada -> {
+            var endpoint = entrada.getKey();
+            var snapshot = entrada.getValue().takeSnapshot();
+            // el login se hace durante la rampa, el resto durante la medicion
+            int segundos = endpoint == Endpoint.LOGIN ? Math.max(RAMPA, 1) : DURACION;
+            return new Resultado(
+                    endpoint,
+                    snapshot.count(),
+                    (long) errores.get(endpoint).count(),
+                    snapshot.percentileValues()[0].value(TimeUnit.MILLISECONDS),
+                    snapshot.percentileValues()[1].value(TimeUnit.MILLISECONDS),
+                    (double) snapshot.count() / segundos);
+        }).toList();
+    }
+
+    private void informar(List<Resultado> resultados) throws IOException {
+        var tabla = new StringBuilder(String.format("%nCarga: %d usuarios, %d s medidos%n%-24s %9s %8s %10s %10s %10s%n",
+                USUARIOS, DURACION, "endpoint", "requests", "errores", "p50 (ms)", "p99 (ms)", "req/s"));
+        var csv = new StringBuilder("endpoint,requests,errores,p50_ms,p99_ms,req_s\n");
+        for (var resultado : resultados) {
+            tabla.append(String.format("%-24s %9d %8d %10.1f %10.1f %10.1f%n", resultado.endpoint().descripcion,
+                    resultado.requests(), resultado.errores(), resultado.p50(), resultado.p99(), resultado.porSegundo()));
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f%n", resultado.endpoint().clave(),
+                    resultado.requests(), resultado.errores(), resultado.p50(), resultado.p99(), resultado.porSegundo()));
+        }
+        System.out.println(tabla);
+        Files.writeString(Path.of("target", "carga-resultados.csv"), csv);
+    }
+
+    // <endpoint>.p99-ms (maximo), <endpoint>.req-s (minimo) y <endpoint>.errores (maximo, 0 si no se indica)
+    private void verificarUmbrales(List<Resultado> resultados) throws IOException {
+        var umbrales = new Properties();
+        try (InputStream archivo = getClass().getResourceAsStream("/carga-umbrales.properties")) {
+            umbrales.load(archivo);
+        }
+        var verificacion = new SoftAssertions();
+        for (var resultado : resultados) {
+            var clave = resultado.endpoint().clave();
+            var descripcion = resultado.endpoint().descripcion;
+            verificacion.assertThat(resultado.requests()).as("requests medidos en %s", descripcion).isPositive();
+            verificacion.assertThat(resultado.errores()).as("errores en %s", descripcion)
+                    .isLessThanOrEqualTo(Long.parseLong(umbral(umbrales, clave + ".errores", "0")));
+            var p99 = umbral(umbrales, clave + ".p99-ms", null);
+            if (p99 != null) {
+                verificacion.assertThat(resultado.p99()).as("p99 de %s (ms)", descripcion)
+                        .isLessThanOrEqualTo(Double.parseDouble(p99));
+            }
+            var porSegundo = umbral(umbrales, clave + ".req-s", null);
+            if (porSegundo != null) {
+                verificacion.assertThat(resultado.porSegundo()).as("requests por segundo de %s", descripcion)
+                        .isGreaterThanOrEqualTo(Double.parseDouble(porSegundo));
+            }
+        }
+        verificacion.assertAll();
+    }
+
+    // -D tiene prioridad sobre el archivo
+    private static String umbral(Properties umbrales, String clave, String porDefecto) {
+        return System.getProperty(clave, umbrales.getProperty(clave, porDefecto));
+    }
+
+    private static String tarea(int usuario, int numero, int duracion) {
+        var importancia = new String[]{"ALTA", "MEDIA", "BAJA"}[numero % 3];
+        var descripcion = numero % 7 == 0 ? "Preparar informe " + numero : "Descripcion de la tarea " + numero;
+        return "{\"nombre\":\"Tarea " + usuario + "-" + numero + "\",\"descripcion\":\"" + descripcion
+                + "\",\"importancia\":\"" + importancia + "\",\"duracionDias\":" + duracion + "}";
+    }
+
+    private static String edicion(int usuario, int numero, int duracion) {
+        var estado = new String[]{"PENDIENTE", "EN_PROGRESO", "COMPLETADA"}[duracion % 3];
+        return "{\"nombre\":\"Tarea " + usuario + "-" + numero + "\",\"descripcion\":\"Descripcion editada\""
+                + ",\"estado\":\"" + estado + "\",\"importancia\":\"MEDIA\",\"duracionDias\":" + duracion + "}";
+    }
+
+    private static String email(int numero) {
+        return "carga" + numero + "@gmail.com";
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+
+    private record Resultado(Endpoint endpoint, long requests, long errores, double p50, double p99, double porSegundo) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.usuario.CachePrincipales;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Costo de BCrypt configurable: al loguearse, la clave guardada con otro costo (o sin prefijo {bcrypt})
+// se vuelve a encriptar con el costo actual
+@SpringBootTest(properties = "api.security.bcrypt.costo=5")
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("Tests de Integración - Costo de BCrypt y reencriptado en el login")
+class ClavesTest {
+
+    private static final String CLAVE = "password123";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CachePrincipales cachePrincipales;
+
+    @Test
+    @DisplayName("Las claves nuevas se guardan con el prefijo y el costo configurados")
+    void encriptaConCostoConfigurado() {
+        assertThat(passwordEncoder.encode(CLAVE)).startsWith("{bcrypt}$2a$05$");
+    }
+
+    @Test
+    @DisplayName("Una clave anterior, sin prefijo, se verifica y se vuelve a encriptar en el login")
+    void reencriptaClaveSinPrefijo() throws Exception {
+        // Arrange
+        guardarUsuario(new BCryptPasswordEncoder(4).encode(CLAVE));
+
+        // Act
+        login(CLAVE);
+
+        // Assert
+        assertThat(claveGuardada()).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches(CLAVE, claveGuardada())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Al volver a encriptar la clave en el login se descarta el usuario de la cache de principales")
+    void reencriptarInvalidaCachePrincipales() throws Exception {
+        // Arrange: un request anterior con token dejo en la cache al usuario con la clave vieja
+        guardarUsuario(new BCryptPasswordEncoder(4).encode(CLAVE));
+        var conClaveVieja = usuarioRepository.findByEmail("claves@gmail.com");
+        cachePrincipales.obtener("claves@gmail.com", email -> conClaveVieja);
+
+        // Act
+        login(CLAVE);
+
+        // Assert
+        assertThat(cachePrincipales.obtener("claves@gmail.com", email -> null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Una clave con un costo mayor al configurado se baja en el login")
+    void bajaElCosto() throws Exception {
+        // Arrange
+        guardarUsuario("{bcrypt}" + new BCryptPasswordEncoder(7).encode(CLAVE));
+
+        // Act
+        login(CLAVE);
+
+        // Assert
+        assertThat(claveGuardada()).startsWith("{bcrypt}$2a$05$");
+    }
+
+    @Test
+    @DisplayName("Una clave con el costo configurado no se vuelve a encriptar")
+    void mantieneClaveConCostoActual() throws Exception {
+        // Arrange
+        var claveEncriptada = passwordEncoder.encode(CLAVE);
+        guardarUsuario(claveEncriptada);
+
+        // Act
+        login(CLAVE);
+
+        // Assert
+        assertThat(claveGuardada()).isEqualTo(claveEncriptada);
+    }
+
+    @Test
+    @DisplayName("Un login fallido no cambia la clave guardada")
+    void loginFallidoNoReencripta() throws Exception {
+        // Arrange
+        var claveEncriptada = new BCryptPasswordEncoder(4).encode(CLAVE);
+        guardarUsuario(claveEncriptada);
+
+        // Act
+        mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"claves@gmail.com\",\"clave\":\"otra-clave\"}"))
+                .andExpect(status().isUnauthorized());
+
+        // Assert
+        assertThat(claveGuardada()).isEqualTo(claveEncriptada);
+    }
+
+    private void guardarUsuario(String claveEncriptada) {
+        usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Claves", "Test", "claves@gmail.com", claveEncriptada, new ArrayList<>())));
+    }
+
+    private void login(String clave) throws Exception {
+        mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"claves@gmail.com\",\"clave\":\"" + clave + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private String claveGuardada() {
+        return usuarioRepository.findByEmail("claves@gmail.com").getClave();
+    }
+}
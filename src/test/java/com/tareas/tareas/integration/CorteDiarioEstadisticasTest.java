@@ -0,0 +1,110 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuario;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuarioJob;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuarioRepository;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuarioService;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.TareaRepository;
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Corte diario por lotes de usuarios: cada lote renueva solo las filas de su rango de ids
+// que quedaron de un dia anterior
+@SpringBootTest
+@Transactional
+@DisplayName("Tests de Integración - Corte diario de estadísticas")
+class CorteDiarioEstadisticasTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Autowired
+    private EstadisticaUsuarioJob estadisticaUsuarioJob;
+
+    @Autowired
+    private EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Autowired
+    private EstadisticaUsuarioRepository estadisticaUsuarioRepository;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario primero;
+    private Usuario segundo;
+    private Usuario alDia;
+
+    @BeforeEach
+    void setup() {
+        // cada usuario tiene una tarea que vencio ayer que sus contadores todavia no cuentan como vencida
+        primero = usuarioConTareaVencida("corte.primero@gmail.com", true);
+        segundo = usuarioConTareaVencida("corte.segundo@gmail.com", true);
+        alDia = usuarioConTareaVencida("corte.aldia@gmail.com", false);
+    }
+
+    @Test
+    @DisplayName("Un lote renueva solo los usuarios de su rango de ids")
+    void loteRenuevaSoloSuRango() {
+        // Act
+        int renovadas = estadisticaUsuarioService.renovarVentanas(HOY, primero.getId() - 1, primero.getId());
+
+        // Assert
+        assertThat(renovadas).isEqualTo(1);
+        assertThat(estadistica(primero).getVencidas()).isEqualTo(1);
+        assertThat(estadistica(primero).getFechaCorte()).isEqualTo(HOY);
+        assertThat(estadistica(segundo).getVencidas()).isZero();
+        assertThat(estadistica(segundo).getFechaCorte()).isEqualTo(HOY.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("El corte diario renueva todas las filas de un dia anterior y no toca las vigentes")
+    void corteDiarioRenuevaFilasViejas() {
+        // Act
+        estadisticaUsuarioJob.corteDiario();
+
+        // Assert
+        assertThat(estadistica(primero).getVencidas()).isEqualTo(1);
+        assertThat(estadistica(segundo).getVencidas()).isEqualTo(1);
+        assertThat(estadistica(segundo).getFechaCorte()).isEqualTo(HOY);
+        assertThat(estadistica(alDia).getVencidas()).isZero();
+    }
+
+    private Usuario usuarioConTareaVencida(String email, boolean contadoresDeAyer) {
+        var usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Corte", "Diario", email, "password123", new ArrayList<>())));
+        var creada = tareaService.crearTarea(
+                new DatosCrearTarea("Vence ayer", "Desc", Importancia.MEDIA, 3, null, null), usuario);
+        tareaRepository.findById(creada.id()).orElseThrow().setFechaVencimiento(HOY.minusDays(1));
+
+        var estadistica = estadistica(usuario);
+        if (contadoresDeAyer) {
+            estadistica.setFechaCorte(HOY.minusDays(1));
+        }
+        estadisticaUsuarioRepository.saveAndFlush(estadistica);
+        return usuario;
+    }
+
+    private EstadisticaUsuario estadistica(Usuario usuario) {
+        return estadisticaUsuarioRepository.findById(usuario.getId()).orElseThrow();
+    }
+}
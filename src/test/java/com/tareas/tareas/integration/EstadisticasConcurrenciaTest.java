@@ -0,0 +1,100 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuarioRepository;
+import com.tareas.tareas.domain.tarea.EstadisticaUsuarioService;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Sin test de transaccion: cada hilo abre y confirma la suya, como TareaController (@Transactional)
+// en dos requests del mismo usuario a la vez; asi la tarea y su delta se confirman juntos.
+// La primera escritura de cada hilo no encuentra contadores y los recalcula: sin el bloqueo de la fila
+// dos de esos recalculos chocaban con la clave primaria o uno pisaba el delta del otro
+@SpringBootTest
+@DisplayName("Tests de Integración - Estadísticas con escrituras concurrentes")
+class EstadisticasConcurrenciaTest {
+
+    private static final int HILOS = 6;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Autowired
+    private EstadisticaUsuarioRepository estadisticaUsuarioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Concurrencia", "Estadisticas", "concurrencia@gmail.com", "password123", new ArrayList<>())));
+    }
+
+    @AfterEach
+    void limpiar() {
+        usuarioRepository.deleteById(usuario.getId());
+    }
+
+    @Test
+    @DisplayName("Las primeras tareas creadas a la vez deben quedar todas en los contadores")
+    void primerasEscriturasConcurrentes() throws Exception {
+        // Arrange
+        var largada = new CountDownLatch(1);
+        var hilos = Executors.newFixedThreadPool(HILOS);
+        var transaccion = new TransactionTemplate(transactionManager);
+        List<Future<?>> creaciones = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < HILOS; i++) {
+                var datos = new DatosCrearTarea("Concurrente " + i, "Desc", Importancia.MEDIA, 3, null, null);
+                creaciones.add(hilos.submit(() -> {
+                    largada.await();
+                    return transaccion.execute(estado -> tareaService.crearTarea(datos, usuario));
+                }));
+            }
+            largada.countDown();
+            for (var creacion : creaciones) {
+                creacion.get();
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        // Assert
+        var guardada = estadisticaUsuarioRepository.findById(usuario.getId());
+        assertThat(guardada).isPresent();
+        assertThat(guardada.get().getTotal()).isEqualTo(HILOS);
+        assertThat(guardada.get().getPendientes()).isEqualTo(HILOS);
+        assertThat(estadisticaUsuarioService.conciliar(usuario.getId(), LocalDate.now())).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.DatosActualizarTarea;
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.DatosFiltroTarea;
+import com.tareas.tareas.domain.tarea.Estado;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Con hilos virtuales un bloque synchronized (o una llamada nativa) que espera I/O deja "clavado" al hilo
+// de plataforma que lo ejecuta, y con pocos de esos se frena toda la aplicacion. JFR registra cada caso
+// como jdk.VirtualThreadPinned: se corren las operaciones de TareaService desde muchos hilos virtuales
+// con un pool de 2 conexiones (asi esperan por conexion y por la base) y no debe aparecer ninguno
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+@DisplayName("Tests de Integración - Hilos virtuales")
+class HilosVirtualesTest {
+
+    private static final int HILOS = 64;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private final List<Usuario> usuarios = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        usuarios.forEach(usuario -> usuarioRepository.deleteById(usuario.getId()));
+    }
+
+    @Test
+    @DisplayName("Las operaciones de tareas no deben clavar hilos virtuales en JDBC ni Hibernate")
+    void sinHilosClavados() throws Exception {
+        // Arrange
+        for (int i = 0; i < HILOS; i++) {
+            usuarios.add(usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                    "Virtual", "Test", "virtual" + i + "-" + System.nanoTime() + "@gmail.com", "password123", new ArrayList<>()))));
+        }
+        var clavados = new ConcurrentLinkedQueue<RecordedEvent>();
+
+        // Act
+        try (var grabacion = new RecordingStream()) {
+            grabacion.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            grabacion.onEvent("jdk.VirtualThreadPinned", clavados::add);
+            grabacion.startAsync();
+
+            try (var hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+                var operaciones = usuarios.stream().map(this::operaciones).toList();
+                for (var resultado : hilos.invokeAll(operaciones)) {
+                    resultado.get();
+                }
+            }
+            // stop() vuelca lo que quedaba grabado antes de cerrar
+            grabacion.stop();
+        }
+
+        // Assert
+        assertThat(clavados)
+                .withFailMessage(() -> "Hilos virtuales clavados:\n" + clavados.stream()
+                        .map(HilosVirtualesTest::describir)
+                        .collect(Collectors.joining("\n\n")))
+                .isEmpty();
+    }
+
+    // alta, lecturas (lista, pagina, filtro, estadisticas), edicion y baja de una tarea de un usuario
+    private Callable<Void> operaciones(Usuario usuario) {
+        return () -> {
+            var tarea = tareaService.crearTarea(
+                    new DatosCrearTarea("Tarea virtual", "Desc", Importancia.ALTA, 3, null, null), usuario);
+            tareaService.buscarTareaPorId(tarea.id(), usuario);
+            tareaService.obtenerTareasPorUsuario(usuario);
+            tareaService.obtenerPaginaTareas(usuario, null, 10);
+            tareaService.filtrarTareas(new DatosFiltroTarea(
+                    "virtual", null, Importancia.ALTA, null, null, false, null, "nombre", "ASC"), usuario);
+            tareaService.obtenerEstadisticas(usuario);
+            tareaService.editarTarea(new DatosActualizarTarea(
+                    "Tarea virtual", "Desc", Estado.COMPLETADA, Importancia.ALTA, 3, null, null), usuario, tarea.id());
+            tareaService.eliminarTarea(tarea.id(), usuario);
+            return null;
+        };
+    }
+
+    private static String describir(RecordedEvent evento) {
+        var pila = evento.getStackTrace() == null ? List.<RecordedFrame>of() : evento.getStackTrace().getFrames();
+        return evento.getDuration().toMillis() + " ms\n" + pila.stream()
+                .limit(25)
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
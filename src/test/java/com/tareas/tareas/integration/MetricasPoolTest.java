@@ -0,0 +1,58 @@
+package com.tareas.tareas.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// El tamanio del pool sale de la configuracion (DB_POOL_MAXIMO en produccion) y sus metricas se publican en Actuator
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=7")
+@AutoConfigureMockMvc
+@DisplayName("Tests de Integración - Métricas del pool de conexiones")
+class MetricasPoolTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    @DisplayName("El tamaño máximo del pool debe respetar la configuración")
+    void tamanioMaximoConfigurado() throws Exception {
+        mvc.perform(get("/actuator/metrics/hikaricp.connections.max").param("tag", "pool:principal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(7.0));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    @DisplayName("La espera por una conexión debe publicarse como timer con percentiles")
+    void esperaPorConexionPublicada() throws Exception {
+        mvc.perform(get("/actuator/metrics/hikaricp.connections.acquire").param("tag", "pool:principal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseUnit").value("seconds"))
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')]").exists());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    @DisplayName("Los requests esperando una conexión deben publicarse")
+    void pendientesPublicados() throws Exception {
+        mvc.perform(get("/actuator/metrics/hikaricp.connections.pending").param("tag", "pool:principal"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Un usuario que no es ADMIN no debe poder ver las métricas")
+    void metricasSoloParaAdmin() throws Exception {
+        mvc.perform(get("/actuator/metrics/hikaricp.connections.acquire"))
+                .andExpect(status().isForbidden());
+    }
+}
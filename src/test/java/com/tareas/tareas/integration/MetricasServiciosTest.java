@@ -0,0 +1,128 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import com.tareas.tareas.infra.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Timers de los servicios (@Timed), de la verificacion del JWT y de BCrypt, publicados en Actuator y Prometheus
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Transactional
+@DisplayName("Tests de Integración - Métricas de servicios y seguridad")
+class MetricasServiciosTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Metricas", "Test", "metricas@gmail.com", passwordEncoder.encode("password123"), new ArrayList<>())));
+    }
+
+    @Test
+    @DisplayName("Cada método de TareaService debe publicar su timer")
+    void servicioMedidoPorMetodo() throws Exception {
+        // Act
+        tareaService.obtenerEstadisticas(usuario);
+
+        // Assert
+        mvc.perform(get("/actuator/metrics/servicio")
+                        .param("tag", "class:com.tareas.tareas.domain.tarea.TareaService", "method:obtenerEstadisticas")
+                        .with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").exists());
+    }
+
+    @Test
+    @DisplayName("El login debe medir el tiempo de BCrypt")
+    void loginMideBcrypt() throws Exception {
+        // Act
+        mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"metricas@gmail.com\",\"clave\":\"password123\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mvc.perform(get("/actuator/metrics/seguridad.clave")
+                        .param("tag", "operacion:verificar")
+                        .with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Cada request con token debe medir la verificación del JWT")
+    void requestMideVerificacionJwt() throws Exception {
+        // Act
+        mvc.perform(get("/tareas/estadisticas").header("Authorization", "Bearer " + tokenService.generarToken(usuario)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/tareas").header("Authorization", "Bearer token-invalido"))
+                .andExpect(status().isForbidden());
+
+        // Assert
+        mvc.perform(get("/actuator/metrics/seguridad.jwt.verificacion")
+                        .param("tag", "resultado:valido")
+                        .with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk());
+        mvc.perform(get("/actuator/metrics/seguridad.jwt.verificacion")
+                        .param("tag", "resultado:invalido")
+                        .with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Prometheus debe exportar los histogramas de los servicios")
+    void prometheusExportaHistogramas() throws Exception {
+        // Arrange
+        tareaService.obtenerEstadisticas(usuario);
+
+        // Act + Assert
+        mvc.perform(get("/actuator/prometheus").with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("servicio_seconds_bucket{class=\"com.tareas.tareas.domain.tarea.TareaService\"")))
+                .andExpect(content().string(containsString("seguridad_clave_seconds")));
+    }
+
+    @Test
+    @DisplayName("Un usuario que no es ADMIN no debe poder leer /actuator/prometheus")
+    void prometheusSoloParaAdmin() throws Exception {
+        mvc.perform(get("/actuator/prometheus").with(user("usuario")))
+                .andExpect(status().isForbidden());
+    }
+}
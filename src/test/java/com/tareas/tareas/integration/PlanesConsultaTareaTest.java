@@ -0,0 +1,293 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.*;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Corre EXPLAIN sobre el SQL que genera cada metodo de TareaRepository, contra PostgreSQL real
+// con un volumen parecido al de produccion, y verifica que ninguno recorra la tabla tareas entera.
+// Para la paginacion por cursor verifica ademas que cada pagina salga ordenada de un indice.
+// Necesita Docker (Testcontainers); si no hay Docker el test se omite
+@SpringBootTest(properties = {
+        "api.security.secret=secreto-de-prueba",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tareas.tareas.integration.PlanesConsultaTareaTest$CapturaSql"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Tests de Integración - Planes de consulta de tareas")
+class PlanesConsultaTareaTest {
+
+    private static final int USUARIOS = 1_000;
+    private static final int TAREAS_POR_USUARIO = 100;
+
+    private static final LocalDate HOY = LocalDate.of(2025, 6, 15);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean datosCargados = false;
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // guarda el SQL que Hibernate manda a la base, para poder pedirle el plan
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> sentencias = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void cargarDatos() {
+        if (datosCargados) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO usuarios (nombre, apellido, email, clave, role)
+                SELECT 'Usuario ' || u, 'Plan', 'plan' || u || '@gmail.com', 'clave', 'USER'
+                FROM generate_series(1, ?) u
+                """, USUARIOS);
+        // estados, importancias y vencimientos repartidos: alrededor de la mitad de las tareas estan terminadas
+        jdbcTemplate.update("""
+                INSERT INTO tareas (nombre, descripcion, fecha_creacion, fecha_finalizacion, estado, importancia,
+                                    usuario_id, duracion_dias, fecha_inicio, fecha_vencimiento)
+                SELECT 'Tarea ' || n,
+                       'Descripcion de la tarea ' || n,
+                       TIMESTAMP '2025-01-01' + (n * 37 % 160) * INTERVAL '1 day' + n * INTERVAL '1 second',
+                       CASE WHEN n % 4 = 2 THEN TIMESTAMP '2025-01-01' + (n % 170) * INTERVAL '1 day' END,
+                       (ARRAY['PENDIENTE', 'EN_PROGRESO', 'COMPLETADA', 'CANCELADA'])[n % 4 + 1],
+                       (ARRAY['ALTA', 'MEDIA', 'BAJA'])[n % 3 + 1],
+                       u.id,
+                       n % 30 + 1,
+                       NULL,
+                       CASE WHEN n % 10 = 0 THEN NULL ELSE DATE '2025-01-01' + (n * 13 % 365) END
+                FROM usuarios u
+                CROSS JOIN generate_series(1, ?) n
+                WHERE u.email LIKE 'plan%'
+                """, TAREAS_POR_USUARIO);
+        jdbcTemplate.execute("ANALYZE usuarios");
+        jdbcTemplate.execute("ANALYZE tareas");
+        datosCargados = true;
+    }
+
+    static Stream<Arguments> consultas() {
+        return Stream.of(
+                consulta("findByUsuario", (r, u) -> r.findByUsuario(u)),
+                consulta("findByIdAndUsuario", (r, u) -> r.findByIdAndUsuario(u.getId() * 10, u)),
+                consulta("buscarVista", (r, u) -> r.buscarVista(u.getId() * 10, u.getId())),
+                consulta("buscarVistas", (r, u) -> r.buscarVistas(u.getId())),
+                consulta("existsByUsuarioIdAndNombre", (r, u) -> r.existsByUsuarioIdAndNombre(u.getId(), "Tarea 7")),
+                consulta("countByUsuarioId", (r, u) -> r.countByUsuarioId(u.getId())),
+                consulta("buscarPorNombre",
+                        (r, u) -> r.buscarPorNombre(u.getId(), "tarea 1", TareaSpecification.patronContiene("tarea 1"))),
+                consulta("findByUsuarioAndEstado", (r, u) -> r.findByUsuarioAndEstado(u, Estado.PENDIENTE)),
+                consulta("findByUsuarioAndImportancia", (r, u) -> r.findByUsuarioAndImportancia(u, Importancia.ALTA)),
+                consulta("findByUsuarioAndFechaVencimientoBetween",
+                        (r, u) -> r.findByUsuarioAndFechaVencimientoBetween(u, HOY, HOY.plusDays(7))),
+                consulta("findTareasVencidas", (r, u) -> r.findTareasVencidas(u, HOY)),
+                consulta("findByUsuarioOrderByFechaVencimientoAsc", (r, u) -> r.findByUsuarioOrderByFechaVencimientoAsc(u)),
+                consulta("findByUsuarioOrderByFechaVencimientoDesc", (r, u) -> r.findByUsuarioOrderByFechaVencimientoDesc(u)),
+                consulta("findByUsuarioOrderByImportanciaDesc", (r, u) -> r.findByUsuarioOrderByImportanciaDesc(u)),
+                consulta("findByUsuarioOrderByFechaCreacionDesc", (r, u) -> r.findByUsuarioOrderByFechaCreacionDesc(u)),
+                consulta("contarEstadisticas", (r, u) -> r.contarEstadisticas(u.getId(), HOY,
+                        HOY.atStartOfDay(), HOY.minusDays(6).atStartOfDay())),
+                consulta("buscarOrdenadas (filtro)", (r, u) -> r.buscarOrdenadas(
+                        TareaSpecification.filtrar(new DatosFiltroTarea(null, Estado.PENDIENTE, null, null, null, true, null, null, null), u, HOY),
+                        OrdenTarea.INTELIGENTE.claves(false, HOY))),
+                consulta("buscarOrdenadas (busqueda)", (r, u) -> r.buscarOrdenadas(
+                        TareaSpecification.filtrar(new DatosFiltroTarea("tarea 1", null, null, null, null, null, null, "id", null), u, HOY),
+                        OrdenTarea.ID.claves(false, HOY))),
+                consulta("buscarPagina (id)", (r, u) -> r.buscarPagina(
+                        TareaSpecification.delUsuario(u), OrdenTarea.ID.claves(false, HOY), null, 21)),
+                consulta("buscarPagina (fechaCreacion)", (r, u) -> r.buscarPagina(
+                        TareaSpecification.delUsuario(u), OrdenTarea.FECHA_CREACION.claves(true, HOY), null, 21))
+        );
+    }
+
+    private static Arguments consulta(String nombre, BiConsumer<TareaRepository, Usuario> ejecutar) {
+        return Arguments.of(nombre, ejecutar);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    @DisplayName("Ninguna consulta del repositorio debe recorrer la tabla tareas completa")
+    void consultaSinSeqScan(String nombre, BiConsumer<TareaRepository, Usuario> ejecutar) {
+        // Arrange
+        var usuario = usuarioRepository.findByEmail("plan500@gmail.com");
+        CapturaSql.sentencias.clear();
+
+        // Act
+        ejecutar.accept(tareaRepository, usuario);
+        var sql = CapturaSql.sentencias.stream()
+                .filter(s -> s.toLowerCase().contains("from tareas"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No se capturo el SQL de " + nombre));
+        var plan = explicar(sql, usuario);
+
+        // Assert
+        assertThat(plan)
+                .as("Plan de %s%n%s%n%s", nombre, sql, plan)
+                .doesNotContain("Seq Scan on tareas");
+    }
+
+    static Stream<Arguments> ordenes() {
+        return Stream.of(OrdenTarea.values())
+                .flatMap(orden -> (orden.admiteDireccion() ? Stream.of(false, true) : Stream.of(false))
+                        .map(descendente -> Arguments.of(orden, descendente)));
+    }
+
+    @ParameterizedTest(name = "{0} descendente={1}")
+    @MethodSource("ordenes")
+    @DisplayName("Las páginas por cursor deben salir ordenadas de un índice, sin ordenar todas las tareas del usuario")
+    void paginaSinSort(OrdenTarea orden, boolean descendente) {
+        // Arrange: el cursor apunta a la mitad de la primera pagina
+        var usuario = usuarioRepository.findByEmail("plan500@gmail.com");
+        var claves = orden.claves(descendente, HOY);
+        var primera = tareaRepository.buscarPagina(TareaSpecification.delUsuario(usuario), claves, null, 21);
+        var ultima = primera.get(10);
+        List<Comparable<?>> desde = claves.stream()
+                .<Comparable<?>>map(clave -> clave.valor().apply(ultima))
+                .toList();
+        CapturaSql.sentencias.clear();
+
+        // Act
+        tareaRepository.buscarPagina(TareaSpecification.delUsuario(usuario), claves, desde, 21);
+        var sql = CapturaSql.sentencias.stream()
+                .filter(s -> s.toLowerCase().contains("from tareas"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No se capturo el SQL de la pagina " + orden));
+        // el plan generico es el que queda en uso despues de unas pocas ejecuciones de la misma sentencia
+        var plan = explicar(sql, usuario, true);
+
+        // Assert
+        assertThat(plan).as("Plan de la pagina %s%n%s%n%s", orden, sql, plan).doesNotContain("Seq Scan on tareas");
+        if (orden == OrdenTarea.INTELIGENTE) {
+            // depende del dia de hoy, ningun indice lo guarda ordenado: se admite un Sort, pero solo
+            // directamente bajo el Limit (top-N), nunca uno que ordene todas las filas antes de cortar
+            assertThat(nodosSort(plan))
+                    .as("Plan de la pagina %s%n%s%n%s", orden, sql, plan)
+                    .allMatch(padre -> padre.startsWith("Limit"));
+        } else {
+            assertThat(plan).as("Plan de la pagina %s%n%s%n%s", orden, sql, plan).doesNotContain("Sort");
+        }
+    }
+
+    // Para cada nodo Sort del plan, el nodo que lo contiene: el anterior con menos sangria.
+    // Los nodos son la primera linea y las que empiezan con "->"; el resto son detalles del nodo
+    private static List<String> nodosSort(String plan) {
+        List<String> nodos = new ArrayList<>();
+        List<Integer> sangrias = new ArrayList<>();
+        for (var linea : plan.lines().toList()) {
+            var texto = linea.trim();
+            if (nodos.isEmpty() || texto.startsWith("->")) {
+                nodos.add(texto.replaceFirst("^->\\s+", ""));
+                sangrias.add(linea.indexOf(texto));
+            }
+        }
+        List<String> padres = new ArrayList<>();
+        for (int i = 1; i < nodos.size(); i++) {
+            if (nodos.get(i).startsWith("Sort ")) {
+                int padre = i - 1;
+                while (padre > 0 && sangrias.get(padre) >= sangrias.get(i)) {
+                    padre--;
+                }
+                padres.add(nodos.get(padre));
+            }
+        }
+        return padres;
+    }
+
+    // EXPLAIN del SQL capturado. Los parametros (?) se reemplazan por el valor tipico de cada columna
+    // del usuario de prueba; el plan que importa es el acceso a tareas, no los valores exactos
+    private String explicar(String sql, Usuario usuario) {
+        return explicar(sql, usuario, false);
+    }
+
+    private String explicar(String sql, Usuario usuario, boolean generico) {
+        var parametrizado = new StringBuilder();
+        int numero = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                parametrizado.append('$').append(++numero);
+            } else {
+                parametrizado.append(c);
+            }
+        }
+        int cantidad = numero;
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexion -> {
+            try (Statement statement = conexion.createStatement()) {
+                statement.execute("SET plan_cache_mode = " + (generico ? "force_generic_plan" : "auto"));
+                statement.execute("PREPARE consulta_plan AS " + parametrizado);
+                var tipos = new ArrayList<String>();
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT unnest(parameter_types)::text FROM pg_prepared_statements WHERE name = 'consulta_plan'")) {
+                    while (rs.next()) {
+                        tipos.add(rs.getString(1));
+                    }
+                }
+                var valores = new ArrayList<String>();
+                for (int i = 0; i < cantidad; i++) {
+                    valores.add(valorDePrueba(tipos.get(i), usuario));
+                }
+
+                var plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery(
+                        "EXPLAIN EXECUTE consulta_plan" + (valores.isEmpty() ? "" : "(" + String.join(", ", valores) + ")"))) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE consulta_plan");
+                statement.execute("RESET plan_cache_mode");
+                return plan.toString();
+            }
+        });
+    }
+
+    private static String valorDePrueba(String tipo, Usuario usuario) {
+        return switch (tipo) {
+            case "bigint" -> String.valueOf(usuario.getId());
+            case "integer", "smallint" -> "21";
+            case "date" -> "DATE '" + HOY + "'";
+            case "timestamp without time zone" -> "TIMESTAMP '" + HOY.atStartOfDay() + "'";
+            default -> "'PENDIENTE'";
+        };
+    }
+}
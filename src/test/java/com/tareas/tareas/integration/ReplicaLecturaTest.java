@@ -0,0 +1,149 @@
+package com.tareas.tareas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Ruteo de DataSourceConfiguration con dos bases PostgreSQL sin replicacion entre ellas: los datos se cargan
+// distintos en cada una, asi la respuesta muestra de que base leyo cada endpoint.
+// Necesita Docker (Testcontainers); si no hay Docker el test se omite
+@SpringBootTest(properties = "api.security.secret=secreto-de-prueba")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Tests de Integración - Lecturas en la réplica")
+class ReplicaLecturaTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> principal = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configurarReplica(DynamicPropertyRegistry registry) {
+        registry.add("api.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("api.datasource.replica.username", replica::getUsername);
+        registry.add("api.datasource.replica.password", replica::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static JdbcTemplate enPrincipal;
+    private static JdbcTemplate enReplica;
+
+    // Flyway de la aplicacion solo migra la principal; en una replica real el esquema llega por replicacion
+    @BeforeAll
+    static void crearEsquemas() {
+        enPrincipal = new JdbcTemplate(dataSource(principal));
+        enReplica = new JdbcTemplate(dataSource(replica));
+        Flyway.configure()
+                .dataSource(enReplica.getDataSource())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    @DisplayName("Una lectura (transacción readOnly) debe leer de la réplica")
+    void lecturaVaALaReplica() throws Exception {
+        // Arrange
+        var usuario = usuarioEnAmbas(1001L);
+        tarea(enPrincipal, 5001L, usuario, "Leida en la principal");
+        tarea(enReplica, 5001L, usuario, "Leida en la replica");
+
+        // Act & Assert
+        mvc.perform(get("/tareas/{id}", 5001L).with(user(usuario)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Leida en la replica"));
+    }
+
+    @Test
+    @DisplayName("Una escritura debe ir a la base principal")
+    void escrituraVaALaPrincipal() throws Exception {
+        // Arrange
+        var usuario = usuarioEnAmbas(1002L);
+        var datos = new DatosCrearTarea("Nueva tarea", "Desc", Importancia.ALTA, 3, null, null);
+
+        // Act
+        mvc.perform(post("/tareas").with(user(usuario))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(datos)))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(tareasDe(enPrincipal, usuario)).isEqualTo(1);
+        assertThat(tareasDe(enReplica, usuario)).isZero();
+    }
+
+    @Test
+    @DisplayName("Las estadísticas sin contadores se cuentan en la réplica y no se guardan en ninguna base")
+    void estadisticasSinContadoresNoSeGuardan() throws Exception {
+        // Arrange
+        var usuario = usuarioEnAmbas(1003L);
+        tarea(enReplica, 5003L, usuario, "Tarea en la replica");
+
+        // Act & Assert
+        mvc.perform(get("/tareas/estadisticas").with(user(usuario)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTareas").value(1));
+        assertThat(estadisticasDe(enPrincipal, usuario)).isZero();
+        assertThat(estadisticasDe(enReplica, usuario)).isZero();
+    }
+
+    private static DriverManagerDataSource dataSource(PostgreSQLContainer<?> contenedor) {
+        return new DriverManagerDataSource(contenedor.getJdbcUrl(), contenedor.getUsername(), contenedor.getPassword());
+    }
+
+    private Usuario usuarioEnAmbas(Long id) {
+        var email = "replica" + id + "@gmail.com";
+        for (var base : new JdbcTemplate[]{enPrincipal, enReplica}) {
+            base.update("INSERT INTO usuarios (id, nombre, apellido, email, clave, role) VALUES (?, 'Replica', 'Test', ?, 'clave', 'USER')",
+                    id, email);
+        }
+        return new Usuario(id, "Replica", "Test", email, "clave", Role.USER, null);
+    }
+
+    private void tarea(JdbcTemplate base, Long id, Usuario usuario, String nombre) {
+        base.update("""
+                INSERT INTO tareas (id, nombre, descripcion, fecha_creacion, estado, importancia, usuario_id, duracion_dias)
+                VALUES (?, ?, 'Desc', now(), 'PENDIENTE', 'MEDIA', ?, 5)
+                """, id, nombre, usuario.getId());
+    }
+
+    private Integer tareasDe(JdbcTemplate base, Usuario usuario) {
+        return base.queryForObject("SELECT COUNT(*) FROM tareas WHERE usuario_id = ?", Integer.class, usuario.getId());
+    }
+
+    private Integer estadisticasDe(JdbcTemplate base, Usuario usuario) {
+        return base.queryForObject("SELECT COUNT(*) FROM estadisticas_usuario WHERE usuario_id = ?", Integer.class, usuario.getId());
+    }
+}
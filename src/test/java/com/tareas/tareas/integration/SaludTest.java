@@ -0,0 +1,140 @@
+package com.tareas.tareas.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Liveness y readiness: la readiness revisa base, pool, migraciones y calentamiento y deja de estar lista
+// cuando hay demasiados requests esperando una conexion (pool de 3 y como maximo 1 esperando)
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.minimum-idle=1",
+        "spring.datasource.hikari.connection-timeout=10000",
+        "api.salud.pool.esperando-maximo=1"
+})
+@AutoConfigureMockMvc
+@DisplayName("Tests de Integración - Liveness y readiness")
+class SaludTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private HikariDataSource pool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Liveness y readiness deben estar UP sin autenticación")
+    void probesUp() throws Exception {
+        mvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+        mvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("OK"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    @DisplayName("Un ADMIN debe ver el detalle de cada chequeo de la readiness")
+    void detalleParaAdmin() throws Exception {
+        mvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.baseDeDatos.status").value("UP"))
+                .andExpect(jsonPath("$.components.baseDeDatos.details.probada").exists())
+                .andExpect(jsonPath("$.components.poolConexiones.details.principal.maximo").value(3))
+                .andExpect(jsonPath("$.components.migraciones.status").value("UP"))
+                .andExpect(jsonPath("$.components.migraciones.details.version").exists())
+                .andExpect(jsonPath("$.components.calentamiento.status").value("UP"));
+    }
+
+    @Test
+    @DisplayName("El calentamiento no debe dejar muestras en las métricas de TareaService")
+    void calentamientoSinMuestrasEnServicios() throws Exception {
+        // Arrange: el calentamiento corre al arrancar el contexto; la readiness UP indica que termino
+        mvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(meterRegistry.find("servicio")
+                .tag("class", "com.tareas.tareas.domain.tarea.TareaService")
+                .timers()).isEmpty();
+        assertThat(meterRegistry.get("tareas.filtrar.devueltas").summary().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Con el pool saturado la readiness debe fallar y la liveness no")
+    void poolSaturadoNoEstaListo() throws Exception {
+        // Arrange: se ocupan todas las conexiones y dos hilos quedan esperando una
+        List<Connection> ocupadas = new ArrayList<>();
+        var esperando = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                ocupadas.add(pool.getConnection());
+            }
+            List<Future<Connection>> pedidas = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                pedidas.add(esperando.submit(() -> pool.getConnection()));
+            }
+            esperarHasta(() -> pool.getHikariPoolMXBean().getThreadsAwaitingConnection() >= 2);
+
+            // Act + Assert
+            mvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status").value("DOWN"));
+            mvc.perform(get("/health"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(content().string("DOWN"));
+            mvc.perform(get("/actuator/health/liveness"))
+                    .andExpect(status().isOk());
+
+            // al liberar las conexiones la cola se vacia y la instancia vuelve a estar lista
+            for (var conexion : ocupadas) {
+                conexion.close();
+            }
+            ocupadas.clear();
+            for (var pedida : pedidas) {
+                pedida.get().close();
+            }
+            mvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isOk());
+        } finally {
+            for (var conexion : ocupadas) {
+                conexion.close();
+            }
+            esperando.shutdownNow();
+        }
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!condicion.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertTrue(condicion.getAsBoolean(), "la condicion no se cumplio a tiempo");
+    }
+}
@@ -0,0 +1,248 @@
+package com.tareas.tareas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tareas.tareas.domain.tarea.*;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cantidad de sentencias SQL que ejecuta cada endpoint de /tareas, medida con las estadisticas de Hibernate.
+// Si un cambio vuelve a traer el usuario de cada tarea (o cualquier otra consulta de mas) estos tests fallan.
+// El usuario se autentica directo en el contexto de seguridad, asi solo se cuenta el trabajo del endpoint
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@AutoConfigureTestEntityManager
+@DisplayName("Tests de Integración - Sentencias SQL por endpoint")
+class SentenciasPorEndpointTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private VersionTareasService versionTareasService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Usuario usuario;
+    private DatosRespuestaTarea tarea;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Sentencias", "Endpoint", "sentencias@gmail.com", "password123", new ArrayList<>())));
+        tarea = tareaService.crearTarea(
+                new DatosCrearTarea("Preparar informe", "Informe mensual", Importancia.ALTA, 5, null, null), usuario);
+        tareaService.crearTarea(
+                new DatosCrearTarea("Revisar correo", "Bandeja de entrada", Importancia.BAJA, 2, null, null), usuario);
+    }
+
+    @Test
+    @DisplayName("GET /tareas lee la version para el ETag y lista las tareas con una sola consulta")
+    void listarTareas() throws Exception {
+        assertThat(sentencias(get("/tareas"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /tareas con el ETag vigente responde 304 leyendo solo la version")
+    void listarTareasSinCambios() throws Exception {
+        var etag = mvc.perform(get("/tareas").with(user(usuario))).andReturn().getResponse().getHeader("ETag");
+
+        assertThat(sentencias(get("/tareas").header("If-None-Match", etag), status().isNotModified())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /tareas?tamanio= lee la version y pagina con una sola consulta")
+    void listarTareasPaginadas() throws Exception {
+        assertThat(sentencias(get("/tareas").param("tamanio", "1"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /tareas/{id} busca la tarea con una sola consulta")
+    void buscarTarea() throws Exception {
+        assertThat(sentencias(get("/tareas/{id}", tarea.id()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /tareas/nombre/{nombre} no carga el usuario de cada tarea")
+    void buscarTareaPorNombre() throws Exception {
+        assertThat(sentencias(get("/tareas/nombre/{nombre}", "informe"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /tareas/filtrar filtra con una sola consulta")
+    void filtrarTareas() throws Exception {
+        var filtro = new DatosFiltroTarea(null, null, Importancia.ALTA, null, null, false, null, null, null);
+
+        assertThat(sentencias(conCuerpo(post("/tareas/filtrar"), filtro))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /tareas/estadisticas lee la version y la fila de contadores")
+    void obtenerEstadisticas() throws Exception {
+        assertThat(sentencias(get("/tareas/estadisticas"))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Una escritura cambia el ETag de GET /tareas/estadisticas")
+    void escrituraCambiaElEtag() throws Exception {
+        var antes = mvc.perform(get("/tareas/estadisticas").with(user(usuario))).andReturn().getResponse().getHeader("ETag");
+        mvc.perform(delete("/tareas/{id}", tarea.id()).with(user(usuario))).andExpect(status().isNoContent());
+
+        mvc.perform(get("/tareas/estadisticas").with(user(usuario)).header("If-None-Match", antes))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(antes)));
+    }
+
+    @Test
+    @DisplayName("Con la misma version, el ETag de un usuario no le da 304 a otro")
+    void etagDistintoPorUsuario() throws Exception {
+        var otro = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Otro", "Usuario", "otro.etag@gmail.com", "password123", new ArrayList<>())));
+        // la misma version que el usuario del setup (dos altas)
+        versionTareasService.incrementar(otro.getId());
+        versionTareasService.incrementar(otro.getId());
+
+        // GET /tareas paginado: el otro usuario no tiene tareas
+        for (var pedido : List.<Supplier<MockHttpServletRequestBuilder>>of(
+                () -> get("/tareas").param("tamanio", "20"), () -> get("/tareas/estadisticas"))) {
+            var etag = mvc.perform(pedido.get().with(user(usuario)))
+                    .andExpect(header().stringValues("Vary", hasItem(containsString("Authorization"))))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mvc.perform(pedido.get().with(user(otro)).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)));
+            mvc.perform(pedido.get().with(user(usuario)).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues("Vary", hasItem(containsString("Authorization"))));
+        }
+    }
+
+    @Test
+    @DisplayName("POST /tareas verifica el nombre, inserta y actualiza los contadores y la version")
+    void crearTarea() throws Exception {
+        var datos = new DatosCrearTarea("Llamar al banco", "Consultar tarjeta", Importancia.MEDIA, 1, null, null);
+
+        assertThat(sentencias(conCuerpo(post("/tareas"), datos))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("POST /tareas/lote con 120 tareas no manda una sentencia por tarea")
+    void crearTareasEnLote() throws Exception {
+        var lote = new ArrayList<DatosCrearTarea>();
+        for (int i = 0; i < 120; i++) {
+            lote.add(new DatosCrearTarea("Importada " + i, "Desde planilla", Importancia.MEDIA, 3, null, null));
+        }
+        var estadisticas = estadisticasHibernate();
+
+        long sentencias = sentencias(conCuerpo(post("/tareas/lote"), lote));
+
+        // la consulta de nombres repetidos, hasta 3 nextval (bloques de 50 ids; cuantos depende de lo que quedo
+        // reservado de altas anteriores), el INSERT (se prepara una vez y se ejecuta en lotes de 50), los contadores
+        // y la version
+        assertThat(estadisticas.getEntityInsertCount()).isEqualTo(120);
+        assertThat(sentencias).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("PUT /tareas/lote/estado actualiza todas las tareas con un solo UPDATE y recalcula los contadores")
+    void cambiarEstadoEnLote() throws Exception {
+        var filtro = new DatosFiltroTarea(null, Estado.PENDIENTE, null, null, null, false, null, null, null);
+        var datos = new DatosCambioEstadoLote(null, filtro, Estado.COMPLETADA);
+
+        // el UPDATE; para los contadores el bloqueo de la fila, la consulta agregada, la fila de estadisticas
+        // y su UPDATE; la version
+        assertThat(sentencias(conCuerpo(put("/tareas/lote/estado"), datos))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("POST /tareas/lote/eliminar borra todas las tareas con un solo DELETE y recalcula los contadores")
+    void eliminarEnLote() throws Exception {
+        var datos = new DatosSeleccionTareas(null, new DatosFiltroTarea(null, null, null, null, null, false, null, null, null));
+
+        assertThat(sentencias(conCuerpo(post("/tareas/lote/eliminar"), datos))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("PUT /tareas/{id} busca la tarea, la actualiza y actualiza los contadores y la version")
+    void modificarTarea() throws Exception {
+        var datos = new DatosActualizarTarea(
+                "Preparar informe", "Informe mensual", Estado.COMPLETADA, Importancia.ALTA, 5, null, null);
+
+        assertThat(sentencias(conCuerpo(put("/tareas/{id}", tarea.id()), datos))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("DELETE /tareas/{id} busca la tarea, la borra y actualiza los contadores y la version")
+    void eliminarTarea() throws Exception {
+        assertThat(sentencias(delete("/tareas/{id}", tarea.id()))).isEqualTo(4);
+    }
+
+    // ejecuta el request con la sesion de Hibernate vacia y devuelve cuantas sentencias se mandaron a la base,
+    // incluidas las que quedan pendientes hasta el flush del final de la transaccion
+    private long sentencias(MockHttpServletRequestBuilder request) throws Exception {
+        return sentencias(request, status().is2xxSuccessful());
+    }
+
+    private long sentencias(MockHttpServletRequestBuilder request, ResultMatcher resultado) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        var estadisticas = estadisticasHibernate();
+
+        mvc.perform(request.with(user(usuario))).andExpect(resultado);
+        entityManager.flush();
+
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private MockHttpServletRequestBuilder conCuerpo(MockHttpServletRequestBuilder request, Object cuerpo) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(cuerpo));
+    }
+
+    private Statistics estadisticasHibernate() {
+        var estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+        return estadisticas;
+    }
+}
@@ -0,0 +1,162 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.DatosActualizarTarea;
+import com.tareas.tareas.domain.tarea.DatosCrearTarea;
+import com.tareas.tareas.domain.tarea.Estado;
+import com.tareas.tareas.domain.tarea.Importancia;
+import com.tareas.tareas.domain.tarea.TareaService;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import com.tareas.tareas.infra.eventos.SuscripcionesTareas;
+import com.tareas.tareas.infra.security.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// GET /tareas/stream contra el servidor real: el cliente lee el stream como lo haria un navegador.
+// Sin @Transactional: los eventos se envian despues del commit de cada escritura
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Tests de Integración - Stream de eventos de tareas")
+class StreamTareasTest {
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private TareaService tareaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private SuscripcionesTareas suscripcionesTareas;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private final BlockingQueue<String> lineas = new LinkedBlockingQueue<>();
+    private Usuario usuario;
+    private Stream<String> stream;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Stream", "Test", "stream" + System.nanoTime() + "@gmail.com", "password123", new ArrayList<>())));
+    }
+
+    @AfterEach
+    void limpiar() {
+        if (stream != null) {
+            stream.close();
+        }
+        usuarioRepository.deleteById(usuario.getId());
+    }
+
+    @Test
+    @DisplayName("Las altas, ediciones y bajas del usuario llegan al stream en orden")
+    void recibeEventos() throws Exception {
+        // Arrange
+        conectar(tokenService.generarToken(usuario));
+
+        // Act
+        var tarea = tareaService.crearTarea(
+                new DatosCrearTarea("Tarea en vivo", "Desc", Importancia.ALTA, 3, null, null), usuario);
+        esperarEvento("CREADA", "Tarea en vivo");
+        tareaService.editarTarea(
+                new DatosActualizarTarea("Tarea en vivo", "Desc", Estado.COMPLETADA, Importancia.ALTA, 3, null, null),
+                usuario, tarea.id());
+        esperarEvento("MODIFICADA", "COMPLETADA");
+        tareaService.eliminarTarea(tarea.id(), usuario);
+
+        // Assert
+        esperarEvento("ELIMINADA", "\"tareaId\":" + tarea.id());
+    }
+
+    @Test
+    @DisplayName("Al cerrar la conexión el suscriptor se quita")
+    void desconexionQuitaSuscriptor() throws Exception {
+        // Arrange
+        conectar(tokenService.generarToken(usuario));
+        int conectados = suscripcionesTareas.cantidadSuscriptores();
+
+        // Act: el servidor detecta el cierre al intentar escribir (el latido o el proximo evento)
+        stream.close();
+        stream = null;
+        long limite = System.currentTimeMillis() + 10_000;
+        while (suscripcionesTareas.cantidadSuscriptores() >= conectados && System.currentTimeMillis() < limite) {
+            suscripcionesTareas.latir();
+            Thread.sleep(100);
+        }
+
+        // Assert
+        assertThat(suscripcionesTareas.cantidadSuscriptores()).isLessThan(conectados);
+    }
+
+    @Test
+    @DisplayName("Sin token el stream responde 403")
+    void sinToken() throws Exception {
+        var respuesta = cliente.send(HttpRequest.newBuilder(uri()).GET().build(), HttpResponse.BodyHandlers.discarding());
+
+        assertThat(respuesta.statusCode()).isEqualTo(403);
+    }
+
+    private void conectar(String token) throws Exception {
+        var respuesta = cliente.send(HttpRequest.newBuilder(uri())
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "text/event-stream")
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertThat(respuesta.statusCode()).isEqualTo(200);
+        assertThat(respuesta.headers().firstValue("Content-Type")).hasValueSatisfying(
+                tipo -> assertThat(tipo).startsWith("text/event-stream"));
+
+        stream = respuesta.body();
+        var lector = new Thread(() -> {
+            try {
+                stream.forEach(lineas::add);
+            } catch (RuntimeException e) {
+                // la conexion se cerro al terminar el test
+            }
+        });
+        lector.setDaemon(true);
+        lector.start();
+        // el comentario inicial confirma que la suscripcion ya esta registrada
+        assertThat(lineas.poll(5, TimeUnit.SECONDS)).isEqualTo(":conectado");
+    }
+
+    // espera la linea "event:<tipo>" seguida de su "data:" y verifica que el dato contenga el texto
+    private void esperarEvento(String tipo, String contenido) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < limite) {
+            var linea = lineas.poll(limite - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (("event:" + tipo).equals(linea)) {
+                var datos = lineas.poll(5, TimeUnit.SECONDS);
+                assertThat(datos).startsWith("data:").contains(contenido);
+                return;
+            }
+        }
+        fail("No llego el evento " + tipo);
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + puerto + "/tareas/stream");
+    }
+}
@@ -3,17 +3,21 @@ package com.tareas.tareas.integration;
 import com.tareas.tareas.Validacion;
 import com.tareas.tareas.domain.tarea.*;
 import com.tareas.tareas.domain.usuario.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -35,6 +39,9 @@ class TareaIntegrationTest {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Usuario usuarioTest;
 
     @BeforeEach
@@ -125,6 +132,95 @@ class TareaIntegrationTest {
         assertThat(tareaRepository.findById(resultado2.id())).isPresent();
     }
 
+    @Test
+    @DisplayName("Integración: Crear tareas en lote guarda las nuevas y rechaza las que ya existen")
+    void crearTareasEnLoteFlujoCompleto() {
+        // Arrange
+        tareaService.crearTarea(new DatosCrearTarea("Ya cargada", "Desc", Importancia.ALTA, 5, null, null), usuarioTest);
+        var lote = new ArrayList<DatosCrearTarea>();
+        for (int i = 0; i < 60; i++) {
+            lote.add(new DatosCrearTarea("Importada " + i, "Desde planilla", Importancia.MEDIA, 3, null, null));
+        }
+        lote.add(new DatosCrearTarea("Ya cargada", "Desc", Importancia.ALTA, 5, null, null));
+
+        // Act
+        var resultado = tareaService.crearTareas(lote, usuarioTest);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(resultado.creadas()).isEqualTo(60);
+        assertThat(resultado.resultados().get(60).estado()).isEqualTo(EstadoItemLote.DUPLICADA);
+        assertThat(resultado.resultados().subList(0, 60)).extracting(DatosResultadoItemLote::id)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates();
+        assertThat(tareaRepository.countByUsuarioId(usuarioTest.getId())).isEqualTo(61);
+        assertThat(tareaService.obtenerEstadisticas(usuarioTest).totalTareas()).isEqualTo(61L);
+    }
+
+    @Test
+    @DisplayName("Integración: Cancelar todas las tareas vencidas con un filtro")
+    void cancelarVencidasEnLote() {
+        // Arrange
+        var vencida = tareaService.crearTarea(new DatosCrearTarea("Vencida", "Desc", Importancia.ALTA, 5, null, null), usuarioTest);
+        var otraVencida = tareaService.crearTarea(new DatosCrearTarea("Otra vencida", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+        var vigente = tareaService.crearTarea(new DatosCrearTarea("Vigente", "Desc", Importancia.MEDIA, 5, null, null), usuarioTest);
+        for (var id : List.of(vencida.id(), otraVencida.id())) {
+            tareaRepository.findById(id).get().setFechaVencimiento(LocalDate.now().minusDays(2));
+        }
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, true, null, null, null);
+
+        // Act
+        var resultado = tareaService.cambiarEstado(new DatosCambioEstadoLote(null, filtro, Estado.CANCELADA), usuarioTest);
+
+        // Assert
+        assertThat(resultado.modificadas()).isEqualTo(2);
+        assertThat(tareaRepository.findById(vencida.id()).get().getEstado()).isEqualTo(Estado.CANCELADA);
+        assertThat(tareaRepository.findById(vigente.id()).get().getEstado()).isEqualTo(Estado.PENDIENTE);
+        var estadisticas = tareaService.obtenerEstadisticas(usuarioTest);
+        assertThat(estadisticas.tareasVencidas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Integración: Completar en lote pone la fecha de finalización solo a las que no la tenían")
+    void completarEnLoteRespetaFechaFinalizacion() {
+        // Arrange
+        var pendiente = tareaService.crearTarea(new DatosCrearTarea("Pendiente", "Desc", Importancia.ALTA, 5, null, null), usuarioTest);
+        var reabierta = tareaService.crearTarea(new DatosCrearTarea("Reabierta", "Desc", Importancia.ALTA, 5, null, null), usuarioTest);
+        var finalizacionAnterior = LocalDate.now().minusDays(10).atStartOfDay();
+        var tareaReabierta = tareaRepository.findById(reabierta.id()).get();
+        tareaReabierta.setFechaFinalizacion(finalizacionAnterior);
+        tareaReabierta.setEstado(Estado.EN_PROGRESO);
+
+        // Act
+        var resultado = tareaService.cambiarEstado(
+                new DatosCambioEstadoLote(List.of(pendiente.id(), reabierta.id()), null, Estado.COMPLETADA), usuarioTest);
+
+        // Assert
+        assertThat(resultado.modificadas()).isEqualTo(2);
+        assertThat(tareaRepository.findById(pendiente.id()).get().getFechaFinalizacion()).isNotNull();
+        assertThat(tareaRepository.findById(reabierta.id()).get().getFechaFinalizacion()).isEqualTo(finalizacionAnterior);
+    }
+
+    @Test
+    @DisplayName("Integración: Eliminar en lote por ids no toca las tareas de otro usuario")
+    void eliminarEnLoteSoloDelUsuario() {
+        // Arrange
+        var otroUsuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Otro", "Usuario", "otro.lote@gmail.com", "password123", new ArrayList<>())));
+        var propia = tareaService.crearTarea(new DatosCrearTarea("Propia", "Desc", Importancia.ALTA, 5, null, null), usuarioTest);
+        var ajena = tareaService.crearTarea(new DatosCrearTarea("Ajena", "Desc", Importancia.ALTA, 5, null, null), otroUsuario);
+
+        // Act
+        var resultado = tareaService.eliminarTareas(new DatosSeleccionTareas(List.of(propia.id(), ajena.id()), null), usuarioTest);
+
+        // Assert
+        assertThat(resultado.modificadas()).isEqualTo(1);
+        assertThat(tareaRepository.findById(propia.id())).isEmpty();
+        assertThat(tareaRepository.findById(ajena.id())).isPresent();
+        assertThat(tareaService.obtenerEstadisticas(usuarioTest).totalTareas()).isZero();
+    }
+
     @Test
     @DisplayName("Integración: Buscar tarea y verificar que devuelve datos correctos de BD")
     void buscarTareaFlujCompleto() {
@@ -369,7 +465,65 @@ class TareaIntegrationTest {
         assertThat(resultado3).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Integración: Búsqueda por nombre ordena por similitud")
+    void buscarTareasOrdenaPorSimilitud() {
+        // Arrange
+        tareaService.crearTarea(new DatosCrearTarea("Llamar al dentista por el turno de control", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+        tareaService.crearTarea(new DatosCrearTarea("Dentista", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+        tareaService.crearTarea(new DatosCrearTarea("Pagar dentista", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+        tareaService.crearTarea(new DatosCrearTarea("Comprar pan", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+
+        // Act
+        var resultado = tareaService.buscarTareaPorNombre("dentista", usuarioTest);
+
+        // Assert
+        assertThat(resultado).extracting(DatosRespuestaTarea::nombre)
+                .containsExactly("Dentista", "Pagar dentista", "Llamar al dentista por el turno de control");
+    }
+
+    @Test
+    @DisplayName("Integración: Búsqueda por nombre toma % y _ como texto literal")
+    void buscarTareasConComodines() {
+        // Arrange
+        tareaService.crearTarea(new DatosCrearTarea("Subir 100% del informe", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+        tareaService.crearTarea(new DatosCrearTarea("Subir 1000 fotos", "Desc", Importancia.BAJA, 5, null, null), usuarioTest);
+
+        // Act
+        var resultado = tareaService.buscarTareaPorNombre("100%", usuarioTest);
 
+        // Assert
+        assertThat(resultado).extracting(DatosRespuestaTarea::nombre).containsExactly("Subir 100% del informe");
+    }
+
+
+
+    @Test
+    @DisplayName("Integración: Las lecturas devuelven proyecciones sin cargar tareas ni usuarios")
+    void lecturasSinCargarEntidades() {
+        // Arrange
+        var creada = tareaService.crearTarea(
+                new DatosCrearTarea("Tarea proyectada", "Solo columnas", Importancia.ALTA, 5, null, null), usuarioTest);
+        tareaService.crearTarea(new DatosCrearTarea("Otra tarea", "Desc", Importancia.BAJA, 3, null, null), usuarioTest);
+        entityManager.flush();
+        entityManager.clear();
+        var filtro = new DatosFiltroTarea(null, null, Importancia.ALTA, null, null, false, null, null, null);
+        var estadisticas = estadisticasHibernate();
+
+        // Act
+        var porId = tareaService.buscarTareaPorId(creada.id(), usuarioTest);
+        var todas = tareaService.obtenerTareasPorUsuario(usuarioTest);
+        var filtradas = tareaService.filtrarTareas(filtro, usuarioTest);
+        var pagina = tareaService.obtenerPaginaTareas(usuarioTest, null, 1);
+
+        // Assert
+        assertThat(porId).isEqualTo(creada);
+        assertThat(todas).hasSize(2);
+        assertThat(filtradas).extracting(DatosRespuestaTarea::nombre).containsExactly("Tarea proyectada");
+        assertThat(pagina.tareas()).containsExactly(creada);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(4);
+    }
 
     @Test
     @DisplayName("Integración: Filtrar tareas por estado")
@@ -478,6 +632,99 @@ class TareaIntegrationTest {
         assertThat(resultado.get(0).importancia()).isEqualTo(Importancia.ALTA);
     }
 
+    @Test
+    @DisplayName("Integración: Paginar por cursor con cada orden recorre las tareas en el mismo orden que el listado")
+    void paginarConCadaOrdenRecorreTodas() {
+        // Arrange: importancias y vencimientos repetidos, nombres con mayusculas y tareas sin vencimiento
+        var importancias = Importancia.values();
+        for (int i = 0; i < 9; i++) {
+            var nombre = (i % 2 == 0 ? "tarea " : "Tarea ") + (char) ('i' - i);
+            var creada = tareaService.crearTarea(
+                    new DatosCrearTarea(nombre, "Desc", importancias[i % 3], i % 4 + 1, null, null), usuarioTest);
+            if (i % 4 == 3) {
+                tareaRepository.findById(creada.id()).orElseThrow().setFechaVencimiento(null);
+            }
+        }
+
+        for (var ordenarPor : List.of("", "id", "fechaVencimiento", "fechaCreacion", "importancia", "nombre")) {
+            for (var direccion : List.of("ASC", "DESC")) {
+                var filtro = new DatosFiltroTarea(null, null, null, null, null, null, null, ordenarPor, direccion);
+
+                // Act
+                var esperadas = tareaService.filtrarTareas(filtro, usuarioTest).stream()
+                        .map(DatosRespuestaTarea::id)
+                        .toList();
+                List<Long> recorridas = new ArrayList<>();
+                String cursor = null;
+                do {
+                    var pagina = tareaService.filtrarTareasPaginadas(filtro, usuarioTest, cursor, 2);
+                    pagina.tareas().forEach(t -> recorridas.add(t.id()));
+                    cursor = pagina.siguienteCursor();
+                } while (cursor != null);
+
+                // Assert
+                assertThat(recorridas).as("orden '%s' %s", ordenarPor, direccion).containsExactlyElementsOf(esperadas);
+                assertThat(recorridas).hasSize(9);
+            }
+        }
+        // las columnas de orden calculadas por la base (V16): sin vencimiento al final, ALTA antes que MEDIA y BAJA
+        var porVencimiento = tareaService.filtrarTareas(
+                new DatosFiltroTarea(null, null, null, null, null, null, null, "fechaVencimiento", "ASC"), usuarioTest);
+        assertThat(porVencimiento.subList(7, 9)).allMatch(t -> t.fechaVencimiento() == null);
+        var porImportancia = tareaService.filtrarTareas(
+                new DatosFiltroTarea(null, null, null, null, null, null, null, "importancia", "ASC"), usuarioTest);
+        assertThat(porImportancia).extracting(DatosRespuestaTarea::importancia).isSorted();
+    }
+
+    @Test
+    @DisplayName("Integración: Paginar por nombre con el locale turco no saltea ni repite tareas")
+    void paginarPorNombreConLocaleTurco() {
+        // Arrange: en "tr" la I mayuscula pasa a ı (sin punto). El cursor tiene que guardar la misma clave
+        // que lower(nombre) en la base, si no el siguiente corte queda en otro lugar del orden
+        for (var nombre : List.of("IGLESIA", "iglu", "Isla", "hoja", "jarra", "INDIO")) {
+            tareaService.crearTarea(new DatosCrearTarea(nombre, "Desc", Importancia.MEDIA, 1, null, null), usuarioTest);
+        }
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, null, null, "nombre", "ASC");
+        var localeOriginal = Locale.getDefault();
+        List<String> recorridas = new ArrayList<>();
+
+        // Act
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            String cursor = null;
+            do {
+                var pagina = tareaService.filtrarTareasPaginadas(filtro, usuarioTest, cursor, 2);
+                pagina.tareas().forEach(t -> recorridas.add(t.nombre()));
+                cursor = pagina.siguienteCursor();
+            } while (cursor != null);
+        } finally {
+            Locale.setDefault(localeOriginal);
+        }
+
+        // Assert
+        assertThat(recorridas).containsExactly("hoja", "IGLESIA", "iglu", "INDIO", "Isla", "jarra");
+    }
+
+    @Test
+    @DisplayName("Integración: Ordenar por nombre ignora mayúsculas, también en letras acentuadas")
+    void ordenarPorNombreIgnoraMayusculas() {
+        // Arrange: el ORDER BY es lower(nombre) con la collation de la base. Donde van las letras acentuadas
+        // respecto de las demas depende de esa collation (con "C" despues de la z, con es_AR o en_US junto a
+        // la letra sin acento); lo que no depende es que mayusculas y minusculas ordenan igual
+        for (var nombre : List.of("banana", "Cereza", "abeja", "Damasco", "Ñandú", "ñandu2")) {
+            tareaService.crearTarea(new DatosCrearTarea(nombre, "Desc", Importancia.MEDIA, 1, null, null), usuarioTest);
+        }
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, null, null, "nombre", "ASC");
+
+        // Act
+        var nombres = tareaService.filtrarTareas(filtro, usuarioTest).stream().map(DatosRespuestaTarea::nombre).toList();
+
+        // Assert
+        assertThat(nombres.stream().filter(n -> n.matches("[A-Za-z]+")).toList())
+                .containsExactly("abeja", "banana", "Cereza", "Damasco");
+        assertThat(Math.abs(nombres.indexOf("Ñandú") - nombres.indexOf("ñandu2"))).isEqualTo(1);
+    }
+
 
     @Test
     @DisplayName("Integración: Obtener estadísticas de tareas")
@@ -535,4 +782,11 @@ class TareaIntegrationTest {
         assertThat(resultado.tareasPorImportancia().get("MEDIA")).isEqualTo(1);
     }
 
-}
\ No newline at end of file
+    private Statistics estadisticasHibernate() {
+        var estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+        return estadisticas;
+    }
+}
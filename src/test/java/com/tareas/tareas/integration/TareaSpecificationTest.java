@@ -0,0 +1,233 @@
+package com.tareas.tareas.integration;
+
+import com.tareas.tareas.domain.tarea.*;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Cada predicado de TareaSpecification contra la base real: el SQL que arma (lower, LIKE con escape,
+// between, comparaciones con fechas nulas) es el que decide que tareas devuelve POST /tareas/filtrar.
+// Los tests de TareaService solo prueban que el servicio arma la consulta
+@SpringBootTest
+@Transactional
+@DisplayName("Tests de Integración - Filtros de tareas en la base de datos")
+class TareaSpecificationTest {
+
+    private static final LocalDate HOY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Filtros", "Especificacion", "filtros@gmail.com", "password123", new ArrayList<>())));
+    }
+
+    @Test
+    @DisplayName("La búsqueda encuentra el texto en nombre o descripción sin distinguir mayúsculas")
+    void busquedaSinDistinguirMayusculas() {
+        // Arrange
+        tarea("Comprar LECHE", "Supermercado");
+        tarea("Desayuno", "Leche descremada");
+        tarea("Lavar el auto", "Sin nada que ver");
+
+        // Act
+        var resultado = nombres(TareaSpecification.contieneTexto("lEcHe"));
+
+        // Assert
+        assertThat(resultado).containsExactlyInAnyOrder("Comprar LECHE", "Desayuno");
+    }
+
+    @Test
+    @DisplayName("La búsqueda ignora mayúsculas también en letras acentuadas")
+    void busquedaSinDistinguirMayusculasConAcentos() {
+        // Arrange: lower() de PostgreSQL sigue el LC_CTYPE de la base. Con "C" no pasa a minusculas
+        // Ñ ni É y estas tareas dejan de aparecer, mientras que el filtro en Java (toLowerCase) las encontraba
+        tarea("ÑANDÚ EN EL CAMPO", "Fotos");
+        tarea("Reunión", "ÉXITO DEL PROYECTO");
+        tarea("Nandu", "Sin acento");
+
+        // Act + Assert
+        assertThat(nombres(TareaSpecification.contieneTexto("ñandú"))).containsExactly("ÑANDÚ EN EL CAMPO");
+        assertThat(nombres(TareaSpecification.contieneTexto("Éxito"))).containsExactly("Reunión");
+    }
+
+    @Test
+    @DisplayName("La búsqueda toma %, _ y \\ como texto literal")
+    void busquedaEscapaComodines() {
+        // Arrange
+        tarea("Avance 100% listo", "Desc");
+        tarea("Avance 1000 listo", "Desc");
+        tarea("archivo_final", "Desc");
+        tarea("archivoXfinal", "Desc");
+        tarea("ruta c:\\temp", "Desc");
+        tarea("ruta c:temp", "Desc");
+
+        // Act + Assert
+        assertThat(nombres(TareaSpecification.contieneTexto("100%"))).containsExactly("Avance 100% listo");
+        assertThat(nombres(TareaSpecification.contieneTexto("o_f"))).containsExactly("archivo_final");
+        assertThat(nombres(TareaSpecification.contieneTexto("c:\\t"))).containsExactly("ruta c:\\temp");
+    }
+
+    @Test
+    @DisplayName("El filtro por estado devuelve solo las tareas con ese estado")
+    void filtroPorEstado() {
+        // Arrange
+        tarea("Pendiente", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        tarea("En progreso", Estado.EN_PROGRESO, Importancia.MEDIA, HOY, 1);
+        tarea("Completada", Estado.COMPLETADA, Importancia.MEDIA, HOY, 1);
+
+        // Act
+        var resultado = nombres(TareaSpecification.conEstado(Estado.EN_PROGRESO));
+
+        // Assert
+        assertThat(resultado).containsExactly("En progreso");
+    }
+
+    @Test
+    @DisplayName("El filtro por importancia devuelve solo las tareas con esa importancia")
+    void filtroPorImportancia() {
+        // Arrange
+        tarea("Alta", Estado.PENDIENTE, Importancia.ALTA, HOY, 1);
+        tarea("Media", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        tarea("Baja", Estado.PENDIENTE, Importancia.BAJA, HOY, 1);
+
+        // Act
+        var resultado = nombres(TareaSpecification.conImportancia(Importancia.BAJA));
+
+        // Assert
+        assertThat(resultado).containsExactly("Baja");
+    }
+
+    @Test
+    @DisplayName("El rango de vencimiento incluye ambos extremos y descarta las tareas sin fecha")
+    void rangoDeVencimiento() {
+        // Arrange
+        tarea("Antes", Estado.PENDIENTE, Importancia.MEDIA, HOY.minusDays(1), 1);
+        tarea("Desde", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        tarea("Hasta", Estado.PENDIENTE, Importancia.MEDIA, HOY.plusDays(7), 1);
+        tarea("Despues", Estado.PENDIENTE, Importancia.MEDIA, HOY.plusDays(8), 1);
+        tarea("Sin fecha", Estado.PENDIENTE, Importancia.MEDIA, null, 1);
+
+        // Act
+        var resultado = nombres(TareaSpecification.venceEntre(HOY, HOY.plusDays(7)));
+
+        // Assert
+        assertThat(resultado).containsExactlyInAnyOrder("Desde", "Hasta");
+    }
+
+    @Test
+    @DisplayName("Vencidas son las activas que vencieron antes de hoy: no las que vencen hoy, ni terminadas, ni sin fecha")
+    void vencidasHastaAyer() {
+        // Arrange
+        tarea("Vencio ayer", Estado.PENDIENTE, Importancia.MEDIA, HOY.minusDays(1), 1);
+        tarea("En progreso vencida", Estado.EN_PROGRESO, Importancia.MEDIA, HOY.minusDays(30), 1);
+        tarea("Vence hoy", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        tarea("Completada vencida", Estado.COMPLETADA, Importancia.MEDIA, HOY.minusDays(1), 1);
+        tarea("Cancelada vencida", Estado.CANCELADA, Importancia.MEDIA, HOY.minusDays(1), 1);
+        tarea("Sin fecha", Estado.PENDIENTE, Importancia.MEDIA, null, 1);
+
+        // Act
+        var resultado = nombres(TareaSpecification.vencidas(HOY));
+
+        // Assert
+        assertThat(resultado).containsExactlyInAnyOrder("Vencio ayer", "En progreso vencida");
+    }
+
+    @Test
+    @DisplayName("El filtro por duración devuelve solo las tareas con esa cantidad de días")
+    void filtroPorDuracion() {
+        // Arrange
+        tarea("Un dia", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        tarea("Tres dias", Estado.PENDIENTE, Importancia.MEDIA, HOY, 3);
+        tarea("Sin duracion", Estado.PENDIENTE, Importancia.MEDIA, HOY, null);
+
+        // Act
+        var resultado = nombres(TareaSpecification.conDuracion(3));
+
+        // Assert
+        assertThat(resultado).containsExactly("Tres dias");
+    }
+
+    @Test
+    @DisplayName("Los filtros solo devuelven tareas del usuario")
+    void soloTareasDelUsuario() {
+        // Arrange
+        var otro = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Otro", "Usuario", "otro.filtros@gmail.com", "password123", new ArrayList<>())));
+        tarea("Mia", "Desc");
+        var ajena = nueva("Ajena", "Desc", Estado.PENDIENTE, Importancia.MEDIA, HOY, 1);
+        ajena.setUsuario(otro);
+        tareaRepository.save(ajena);
+
+        // Act
+        var resultado = nombres(TareaSpecification.delUsuario(usuario));
+
+        // Assert
+        assertThat(resultado).containsExactly("Mia");
+    }
+
+    @Test
+    @DisplayName("El filtro completo combina los criterios con AND e ignora un rango con un solo extremo")
+    void filtroCompletoCombinaCriterios() {
+        // Arrange
+        tarea("Informe alta vencido", Estado.PENDIENTE, Importancia.ALTA, HOY.minusDays(2), 3);
+        tarea("Informe media vencido", Estado.PENDIENTE, Importancia.MEDIA, HOY.minusDays(2), 3);
+        tarea("Informe alta al dia", Estado.PENDIENTE, Importancia.ALTA, HOY.plusDays(2), 3);
+        tarea("Correo alta vencido", Estado.PENDIENTE, Importancia.ALTA, HOY.minusDays(2), 3);
+        var datos = new DatosFiltroTarea("INFORME", Estado.PENDIENTE, Importancia.ALTA,
+                HOY.minusDays(10), null, true, 3, null, null);
+
+        // Act
+        var resultado = nombres(TareaSpecification.filtrar(datos, usuario, HOY));
+
+        // Assert
+        assertThat(resultado).containsExactly("Informe alta vencido");
+    }
+
+    private List<String> nombres(Specification<Tarea> filtro) {
+        return tareaRepository.findAll(TareaSpecification.delUsuario(usuario).and(filtro)).stream()
+                .map(Tarea::getNombre)
+                .toList();
+    }
+
+    private void tarea(String nombre, String descripcion) {
+        tareaRepository.save(nueva(nombre, descripcion, Estado.PENDIENTE, Importancia.MEDIA, HOY, 1));
+    }
+
+    private void tarea(String nombre, Estado estado, Importancia importancia, LocalDate vencimiento, Integer duracion) {
+        tareaRepository.save(nueva(nombre, "Desc", estado, importancia, vencimiento, duracion));
+    }
+
+    private Tarea nueva(String nombre, String descripcion, Estado estado, Importancia importancia,
+                        LocalDate vencimiento, Integer duracion) {
+        var tarea = new Tarea();
+        tarea.setNombre(nombre);
+        tarea.setDescripcion(descripcion);
+        tarea.setEstado(estado);
+        tarea.setImportancia(importancia);
+        tarea.setFechaVencimiento(vencimiento);
+        tarea.setDuracionDias(duracion);
+        tarea.setUsuario(usuario);
+        return tarea;
+    }
+}
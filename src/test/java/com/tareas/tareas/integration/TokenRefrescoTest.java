@@ -0,0 +1,183 @@
+package com.tareas.tareas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tareas.tareas.domain.usuario.DatosActualizarUsuario;
+import com.tareas.tareas.domain.usuario.DatosCrearUsuario;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.domain.usuario.UsuarioRepository;
+import com.tareas.tareas.domain.usuario.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Refresh tokens: el login entrega uno, POST /auth/refresh lo rota sin verificar la clave,
+// reutilizar uno ya usado revoca la sesion y POST /auth/logout la cierra
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("Tests de Integración - Refresh tokens")
+class TokenRefrescoTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                "Refresco", "Test", "refresco@gmail.com", passwordEncoder.encode("password123"), new ArrayList<>())));
+    }
+
+    @Test
+    @DisplayName("El refresh token del login se cambia por un JWT válido y otro refresh token, sin BCrypt")
+    void refrescoRenuevaSinClave() throws Exception {
+        // Arrange
+        var login = login();
+        double verificacionesAntes = verificacionesDeClave();
+
+        // Act
+        var renovado = json(refrescar(login.get("tokenRefresco").asText()).andExpect(status().isOk()));
+
+        // Assert
+        assertThat(renovado.get("tokenRefresco").asText()).isNotEqualTo(login.get("tokenRefresco").asText());
+        mvc.perform(get("/tareas/estadisticas").header("Authorization", "Bearer " + renovado.get("jwToken").asText()))
+                .andExpect(status().isOk());
+        assertThat(verificacionesDeClave()).isEqualTo(verificacionesAntes);
+    }
+
+    @Test
+    @DisplayName("En la base solo se guarda el hash de cada refresh token")
+    void guardaSoloElHash() throws Exception {
+        // Act
+        login();
+
+        // Assert
+        var largoHash = jdbcTemplate.queryForObject(
+                "SELECT octet_length(hash) FROM tokens_refresco WHERE usuario_id = ?", Integer.class, usuario.getId());
+        assertThat(largoHash).isEqualTo(32);
+    }
+
+    @Test
+    @DisplayName("Reutilizar un refresh token ya usado revoca toda la sesión")
+    void reutilizarRevocaSesion() throws Exception {
+        // Arrange
+        var primero = login().get("tokenRefresco").asText();
+        var segundo = json(refrescar(primero).andExpect(status().isOk())).get("tokenRefresco").asText();
+
+        // Act
+        refrescar(primero).andExpect(status().isUnauthorized());
+
+        // Assert: el token que se habia entregado despues tampoco sirve
+        refrescar(segundo).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Las sesiones se revocan por separado")
+    void sesionesIndependientes() throws Exception {
+        // Arrange
+        var otraSesion = login().get("tokenRefresco").asText();
+        var primero = login().get("tokenRefresco").asText();
+        refrescar(primero).andExpect(status().isOk());
+
+        // Act
+        refrescar(primero).andExpect(status().isUnauthorized());
+
+        // Assert
+        refrescar(otraSesion).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Después del logout el refresh token no sirve")
+    void logoutRevoca() throws Exception {
+        // Arrange
+        var token = login().get("tokenRefresco").asText();
+
+        // Act
+        mvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokenRefresco\":\"" + token + "\"}"))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        refrescar(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Modificar el usuario revoca sus refresh tokens")
+    void modificarUsuarioRevoca() throws Exception {
+        // Arrange
+        var token = login().get("tokenRefresco").asText();
+
+        // Act
+        usuarioService.modificarUsuario(new DatosActualizarUsuario(
+                usuario.getId(), "Refresco", "Test", "refresco@gmail.com", "otra1234"));
+
+        // Assert
+        refrescar(token).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Un refresh token desconocido responde 401")
+    void tokenDesconocido() throws Exception {
+        refrescar("no-es-un-token").andExpect(status().isUnauthorized());
+    }
+
+    private JsonNode login() throws Exception {
+        return json(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"refresco@gmail.com\",\"clave\":\"password123\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions refrescar(String token) throws Exception {
+        return mvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tokenRefresco\":\"" + token + "\"}"));
+    }
+
+    private JsonNode json(ResultActions resultado) throws Exception {
+        return objectMapper.readTree(resultado.andReturn().getResponse().getContentAsString());
+    }
+
+    private double verificacionesDeClave() {
+        var timer = meterRegistry.find("seguridad.clave").tag("operacion", "verificar").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
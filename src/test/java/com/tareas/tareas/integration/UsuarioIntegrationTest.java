@@ -3,10 +3,13 @@ package com.tareas.tareas.integration;
 import com.tareas.tareas.Validacion;
 import com.tareas.tareas.domain.usuario.*;
 import com.tareas.tareas.domain.tarea.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +34,9 @@ class UsuarioIntegrationTest {
     @Autowired
     private TareaRepository tareaRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
 
     @Test
     @DisplayName("Integración: Crear usuario y verificar que se guarda en BD")
@@ -221,6 +227,70 @@ class UsuarioIntegrationTest {
 
 
 
+    @Test
+    @DisplayName("Integración: Listar usuarios con sus tareas no hace una consulta por usuario")
+    void listarUsuariosSinConsultaPorUsuario() {
+        // Arrange
+        crearUsuariosConTareas(10, 3);
+        var estadisticas = estadisticasHibernate();
+
+        // Act
+        var resultado = usuarioService.listarUsuarios();
+
+        // Assert: usuarios + tareas de a lotes (10 usuarios entran en un lote)
+        assertThat(resultado).filteredOn(u -> u.email().startsWith("lote")).hasSize(10)
+                .allMatch(u -> u.tareas().size() == 3);
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Integración: Resumen paginado de usuarios con cantidad de tareas en una consulta")
+    void listarResumenUsuariosFlujoCompleto() {
+        // Arrange
+        crearUsuariosConTareas(5, 2);
+        var estadisticas = estadisticasHibernate();
+
+        // Act
+        var primera = usuarioService.listarResumenUsuarios(null, 3);
+        var consultasPrimeraPagina = estadisticas.getPrepareStatementCount();
+        var resto = usuarioService.listarResumenUsuarios(primera.siguienteCursor(), 100);
+
+        // Assert
+        assertThat(consultasPrimeraPagina).isEqualTo(1);
+        assertThat(primera.usuarios()).hasSize(3);
+        assertThat(primera.hayMas()).isTrue();
+        var todos = new ArrayList<>(primera.usuarios());
+        todos.addAll(resto.usuarios());
+        assertThat(todos).extracting(DatosResumenUsuario::id).isSorted().doesNotHaveDuplicates();
+        assertThat(todos).filteredOn(u -> u.email().startsWith("lote"))
+                .hasSize(5)
+                .allMatch(u -> u.cantidadTareas() == 2);
+        assertThat(resto.hayMas()).isFalse();
+    }
+
+    private void crearUsuariosConTareas(int usuarios, int tareasPorUsuario) {
+        for (int i = 0; i < usuarios; i++) {
+            var usuario = usuarioRepository.save(new Usuario(new DatosCrearUsuario(
+                    "Usuario " + i, "apellido", "lote" + i + "@gmail.com", "pass123", new ArrayList<>())));
+            for (int j = 0; j < tareasPorUsuario; j++) {
+                tareaRepository.save(new Tarea(
+                        new DatosCrearTarea("Tarea " + j, "Desc", Importancia.MEDIA, 5, null, null), usuario));
+            }
+        }
+        // que las consultas siguientes vayan a la base y no al contexto de persistencia
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics estadisticasHibernate() {
+        var estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+        return estadisticas;
+    }
+
+
     @Test
     @DisplayName("Integración: Editar usuario y verificar cambios en BD")
     void editarUsuarioFlujoCompleto() {
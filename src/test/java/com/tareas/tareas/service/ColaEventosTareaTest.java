@@ -0,0 +1,102 @@
+package com.tareas.tareas.service;
+
+import com.tareas.tareas.domain.tarea.*;
+import com.tareas.tareas.domain.usuario.Role;
+import com.tareas.tareas.domain.usuario.Usuario;
+import com.tareas.tareas.infra.eventos.ColaEventosTarea;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests de la cola de eventos de GET /tareas/stream")
+class ColaEventosTareaTest {
+
+    private final Usuario usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+
+    @Test
+    @DisplayName("Los eventos de tareas distintas se entregan en orden")
+    void entregaEnOrden() {
+        // Arrange
+        var cola = new ColaEventosTarea(10);
+        cola.agregar(EventoTarea.creada(1L, tarea(1L, "Uno")));
+        cola.agregar(EventoTarea.eliminada(1L, 7L));
+
+        // Act
+        var eventos = cola.tomar();
+
+        // Assert
+        assertThat(eventos).extracting(EventoTarea::tipo).containsExactly(TipoEventoTarea.CREADA, TipoEventoTarea.ELIMINADA);
+        assertThat(cola.vacia()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Varias modificaciones pendientes de la misma tarea se combinan en la última")
+    void combinaModificaciones() {
+        // Arrange
+        var cola = new ColaEventosTarea(10);
+        cola.agregar(EventoTarea.modificada(1L, tarea(3L, "Version 1")));
+        cola.agregar(EventoTarea.modificada(1L, tarea(3L, "Version 2")));
+
+        // Act
+        var eventos = cola.tomar();
+
+        // Assert
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).tarea().nombre()).isEqualTo("Version 2");
+    }
+
+    @Test
+    @DisplayName("Una tarea creada y modificada antes de enviarse llega como CREADA con los datos nuevos")
+    void creadaYModificada() {
+        // Arrange
+        var cola = new ColaEventosTarea(10);
+        cola.agregar(EventoTarea.creada(1L, tarea(3L, "Nueva")));
+        cola.agregar(EventoTarea.modificada(1L, tarea(3L, "Nueva editada")));
+
+        // Act
+        var eventos = cola.tomar();
+
+        // Assert
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).tipo()).isEqualTo(TipoEventoTarea.CREADA);
+        assertThat(eventos.get(0).tarea().nombre()).isEqualTo("Nueva editada");
+    }
+
+    @Test
+    @DisplayName("Una tarea creada y eliminada antes de enviarse no genera eventos")
+    void creadaYEliminada() {
+        // Arrange
+        var cola = new ColaEventosTarea(10);
+        cola.agregar(EventoTarea.creada(1L, tarea(3L, "Efimera")));
+        cola.agregar(EventoTarea.eliminada(1L, 3L));
+
+        // Act & Assert
+        assertThat(cola.tomar()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Al superar la capacidad se descartan los pendientes y se envía un solo RESINCRONIZAR")
+    void desbordeResincroniza() {
+        // Arrange
+        var cola = new ColaEventosTarea(3);
+        for (long id = 1; id <= 10; id++) {
+            cola.agregar(EventoTarea.creada(1L, tarea(id, "Tarea " + id)));
+        }
+
+        // Act
+        var eventos = cola.tomar();
+
+        // Assert
+        assertThat(eventos).extracting(EventoTarea::tipo).containsExactly(TipoEventoTarea.RESINCRONIZAR);
+        // despues de resincronizar se vuelven a guardar eventos normalmente
+        cola.agregar(EventoTarea.eliminada(1L, 4L));
+        assertThat(cola.tomar()).extracting(EventoTarea::tipo).containsExactly(TipoEventoTarea.ELIMINADA);
+    }
+
+    private DatosRespuestaTarea tarea(Long id, String nombre) {
+        var tarea = new Tarea(new DatosCrearTarea(nombre, "Desc", Importancia.MEDIA, 3, null, null), usuario);
+        tarea.setId(id);
+        return new DatosRespuestaTarea(tarea);
+    }
+}
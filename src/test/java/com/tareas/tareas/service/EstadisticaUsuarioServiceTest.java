@@ -0,0 +1,279 @@
+package com.tareas.tareas.service;
+
+import com.tareas.tareas.domain.tarea.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio de Estadísticas por usuario")
+class EstadisticaUsuarioServiceTest {
+
+    @Mock
+    private EstadisticaUsuarioRepository estadisticaUsuarioRepository;
+
+    @Mock
+    private TareaRepository tareaRepository;
+
+    @Mock
+    private VersionTareasService versionTareasService;
+
+    @InjectMocks
+    private EstadisticaUsuarioService estadisticaUsuarioService;
+
+    // ==================== OBTENER ====================
+    // sin contadores guardados se cuentan en memoria desde las filas agrupadas por estado e importancia
+
+    @Test
+    @DisplayName("Obtener estadísticas sin tareas debe devolver valores en cero")
+    void obtenerEstadisticasSinTareas() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        sinContadoresGuardados();
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.totalTareas()).isEqualTo(0);
+        assertThat(resultado.tareasCompletadas()).isEqualTo(0);
+        assertThat(resultado.tareasPendientes()).isEqualTo(0);
+        assertThat(resultado.porcentajeCompletado()).isEqualTo(0.0);
+        assertThat(resultado.tareasPorEstado()).isEmpty();
+        verify(estadisticaUsuarioRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Obtener estadísticas debe contar correctamente por estado")
+    void obtenerEstadisticasConTareas() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        sinContadoresGuardados();
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(
+                        new FilaEstadisticaTarea(Estado.COMPLETADA, Importancia.ALTA, 1L, 0L, 1L, 1L),
+                        new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.MEDIA, 1L, 0L, 0L, 0L),
+                        new FilaEstadisticaTarea(Estado.EN_PROGRESO, Importancia.BAJA, 1L, 0L, 0L, 0L)
+                ));
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.totalTareas()).isEqualTo(3);
+        assertThat(resultado.tareasCompletadas()).isEqualTo(1);
+        assertThat(resultado.tareasPendientes()).isEqualTo(1);
+        assertThat(resultado.tareasEnProgreso()).isEqualTo(1);
+        assertThat(resultado.tareasCompletadasHoy()).isEqualTo(1);
+        assertThat(resultado.porcentajeCompletado()).isEqualTo(33.33);
+    }
+
+    @Test
+    @DisplayName("Obtener estadísticas debe contar tareas vencidas correctamente")
+    void obtenerEstadisticasConTareasVencidas() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        sinContadoresGuardados();
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.ALTA, 1L, 1L, 0L, 0L)));
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.totalTareas()).isEqualTo(1);
+        assertThat(resultado.tareasVencidas()).isEqualTo(1);
+        assertThat(resultado.porcentajeVencido()).isEqualTo(100.0);
+        verify(tareaRepository).contarEstadisticas(1L, hoy, hoy.atStartOfDay(),
+                hoy.minusDays(hoy.getDayOfWeek().getValue() - 1).atStartOfDay());
+    }
+
+    @Test
+    @DisplayName("Obtener estadísticas debe agrupar correctamente por estado e importancia")
+    void obtenerEstadisticasAgrupamientos() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        sinContadoresGuardados();
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(
+                        new FilaEstadisticaTarea(Estado.COMPLETADA, Importancia.ALTA, 1L, 0L, 0L, 0L),
+                        new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.ALTA, 2L, 0L, 0L, 0L),
+                        new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.BAJA, 1L, 0L, 0L, 0L)
+                ));
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.tareasPorEstado()).containsOnlyKeys("COMPLETADA", "PENDIENTE");
+        assertThat(resultado.tareasPorEstado()).containsEntry("PENDIENTE", 3L);
+        assertThat(resultado.tareasPorImportancia()).containsOnlyKeys("ALTA", "BAJA");
+        assertThat(resultado.tareasPorImportancia()).containsEntry("ALTA", 3L);
+    }
+
+    @Test
+    @DisplayName("Obtener estadísticas con contadores del día no debe consultar las tareas")
+    void obtenerEstadisticasDesdeContadores() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var guardada = contadores(hoy, 4, 2, 2);
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.of(guardada));
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.totalTareas()).isEqualTo(4);
+        assertThat(resultado.tareasPendientes()).isEqualTo(2);
+        assertThat(resultado.tareasCompletadas()).isEqualTo(2);
+        assertThat(resultado.porcentajeCompletado()).isEqualTo(50.0);
+        verifyNoInteractions(tareaRepository);
+        verify(estadisticaUsuarioRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Obtener estadísticas con contadores de otro día debe contarlas sin guardarlas")
+    void obtenerEstadisticasContadoresViejos() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var guardada = contadores(hoy.minusDays(1), 4, 2, 2);
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.of(guardada));
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.ALTA, 1L, 1L, 0L, 0L)));
+
+        // Act
+        var resultado = estadisticaUsuarioService.obtener(1L, hoy);
+
+        // Assert
+        assertThat(resultado.totalTareas()).isEqualTo(1);
+        assertThat(resultado.tareasVencidas()).isEqualTo(1);
+        assertThat(guardada.getFechaCorte()).isEqualTo(hoy.minusDays(1));
+        verify(estadisticaUsuarioRepository, never()).save(any());
+    }
+
+    // ==================== APLICAR ====================
+
+    @Test
+    @DisplayName("Aplicar un delta debe sumarlo sobre los contadores sin recalcular")
+    void aplicarDeltaSumaContadores() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var delta = new DeltaEstadistica(1, 1, 0, 0, 0, 1, 0, 0, 0, 0, 0);
+        when(estadisticaUsuarioRepository.sumar(1L, hoy, delta)).thenReturn(1);
+
+        // Act
+        estadisticaUsuarioService.aplicar(1L, hoy, delta);
+
+        // Assert
+        verifyNoInteractions(tareaRepository);
+        verify(estadisticaUsuarioRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Aplicar un delta sin contadores vigentes debe recalcularlos desde las tareas")
+    void aplicarDeltaSinContadoresRecalcula() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var delta = new DeltaEstadistica(1, 1, 0, 0, 0, 1, 0, 0, 0, 0, 0);
+        when(estadisticaUsuarioRepository.sumar(1L, hoy, delta)).thenReturn(0);
+        // bloquear crea la fila vacia que despues se completa con el conteo
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.of(new EstadisticaUsuario(1L)));
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.ALTA, 1L, 0L, 0L, 0L)));
+
+        // Act
+        estadisticaUsuarioService.aplicar(1L, hoy, delta);
+
+        // Assert
+        var orden = inOrder(estadisticaUsuarioRepository, tareaRepository);
+        orden.verify(estadisticaUsuarioRepository).bloquear(1L, hoy);
+        orden.verify(tareaRepository).contarEstadisticas(eq(1L), any(), any(), any());
+        orden.verify(estadisticaUsuarioRepository).save(argThat(e ->
+                e.getTotal() == 1 && e.getPendientes() == 1 && hoy.equals(e.getFechaCorte())));
+    }
+
+    @Test
+    @DisplayName("Aplicar un delta en cero no debe tocar la base de datos")
+    void aplicarDeltaCero() {
+        // Act
+        estadisticaUsuarioService.aplicar(1L, LocalDate.now(), DeltaEstadistica.CERO);
+
+        // Assert
+        verifyNoInteractions(estadisticaUsuarioRepository, tareaRepository);
+    }
+
+    // ==================== CONCILIAR ====================
+
+    @Test
+    @DisplayName("Conciliar debe corregir contadores que no coinciden con las tareas")
+    void conciliarCorrigeDiferencias() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var guardada = contadores(hoy, 5, 5, 0);
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.of(guardada));
+        when(estadisticaUsuarioRepository.save(any(EstadisticaUsuario.class))).thenAnswer(i -> i.getArgument(0));
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.MEDIA, 4L, 0L, 0L, 0L)));
+
+        // Act
+        boolean corregido = estadisticaUsuarioService.conciliar(1L, hoy);
+
+        // Assert
+        assertThat(corregido).isTrue();
+        assertThat(guardada.getTotal()).isEqualTo(4);
+        assertThat(guardada.getPendientes()).isEqualTo(4);
+        // la respuesta cambio, el ETag de /tareas/estadisticas tambien tiene que cambiar
+        verify(versionTareasService).incrementar(1L);
+    }
+
+    @Test
+    @DisplayName("Conciliar contadores correctos no debe guardar nada")
+    void conciliarSinDiferencias() {
+        // Arrange
+        LocalDate hoy = LocalDate.now();
+        var guardada = contadores(hoy, 4, 2, 2);
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.of(guardada));
+        when(tareaRepository.contarEstadisticas(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(
+                        new FilaEstadisticaTarea(Estado.PENDIENTE, Importancia.MEDIA, 2L, 0L, 0L, 0L),
+                        new FilaEstadisticaTarea(Estado.COMPLETADA, Importancia.MEDIA, 2L, 0L, 0L, 0L)
+                ));
+
+        // Act
+        boolean corregido = estadisticaUsuarioService.conciliar(1L, hoy);
+
+        // Assert
+        assertThat(corregido).isFalse();
+        verify(estadisticaUsuarioRepository, never()).save(any());
+        verifyNoInteractions(versionTareasService);
+    }
+
+    private void sinContadoresGuardados() {
+        when(estadisticaUsuarioRepository.findById(1L)).thenReturn(Optional.empty());
+    }
+
+    // contadores de tareas de importancia MEDIA repartidas entre pendientes y completadas
+    private EstadisticaUsuario contadores(LocalDate fechaCorte, long total, long pendientes, long completadas) {
+        var estadistica = new EstadisticaUsuario(1L);
+        estadistica.setTotal(total);
+        estadistica.setPendientes(pendientes);
+        estadistica.setCompletadas(completadas);
+        estadistica.setImportanciaMedia(total);
+        estadistica.setFechaCorte(fechaCorte);
+        return estadistica;
+    }
+}
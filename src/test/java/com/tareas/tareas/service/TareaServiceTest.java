@@ -6,21 +6,35 @@ import com.tareas.tareas.domain.usuario.Usuario;
 import com.tareas.tareas.domain.usuario.Role;
 import com.tareas.tareas.domain.usuario.UsuarioRepository;
 import com.tareas.tareas.domain.usuario.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 
@@ -42,9 +56,29 @@ class TareaServiceTest {
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private EstadisticaUsuarioService estadisticaUsuarioService;
+
+    @Mock
+    private VersionTareasService versionTareasService;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TareaService tareaService;
 
+    @BeforeEach
+    void setup() {
+        // @InjectMocks no llama al @PostConstruct
+        tareaService.registrarMetricas();
+    }
 
     @Test
     @DisplayName("Crear tarea exitosamente cuando no existe una con el mismo nombre")
@@ -75,6 +109,7 @@ class TareaServiceTest {
         assertThat(resultado.nombre()).isEqualTo("Hacer ejercicio");
         assertThat(resultado.importancia()).isEqualTo(Importancia.ALTA);
         verify(tareaRepository).save(any(Tarea.class));
+        verify(versionTareasService).incrementar(1L);
     }
 
     @Test
@@ -102,6 +137,7 @@ class TareaServiceTest {
 
         // Verifica que NO se intente guardar
         verify(tareaRepository, never()).save(any(Tarea.class));
+        verifyNoInteractions(versionTareasService);
     }
 
 
@@ -114,7 +150,7 @@ class TareaServiceTest {
         var tarea = new Tarea(datosCrearTarea, usuario);
         tarea.setId(1L);
 
-        when(tareaRepository.findByIdAndUsuario(1L, usuario)).thenReturn(Optional.of(tarea));
+        when(tareaRepository.buscarVista(1L, 1L)).thenReturn(Optional.of(tarea));
 
         // Act
         var resultado = tareaService.buscarTareaPorId(1L, usuario);
@@ -123,6 +159,8 @@ class TareaServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.nombre()).isEqualTo("Ir al médico");
         assertThat(resultado.descripcion()).isEqualTo("Controlar resultados");
+        // la lectura usa la proyeccion, no carga la entidad
+        verify(tareaRepository, never()).findByIdAndUsuario(any(), any());
     }
 
     @Test
@@ -131,7 +169,7 @@ class TareaServiceTest {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
 
-        when(tareaRepository.findByIdAndUsuario(99L, usuario)).thenReturn(Optional.empty());
+        when(tareaRepository.buscarVista(99L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> tareaService.buscarTareaPorId(99L, usuario))
@@ -146,7 +184,7 @@ class TareaServiceTest {
         var usuario2 = new Usuario(2L, "juan", "perez", "juan@gmail.com", "123456", Role.USER, null);
 
         // Usuario2 intenta buscar pero la BD devuelve vacío (porque el repository verifica usuario)
-        when(tareaRepository.findByIdAndUsuario(1L, usuario2)).thenReturn(Optional.empty());
+        when(tareaRepository.buscarVista(1L, 2L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> tareaService.buscarTareaPorId(1L, usuario2))
                 .isInstanceOf(Validacion.class);
@@ -167,7 +205,7 @@ class TareaServiceTest {
                 usuario
         );
 
-        when(tareaRepository.findByNombreContainingIgnoreCaseAndUsuario("médico", usuario))
+        when(tareaRepository.buscarPorNombre(1L, "médico", "%médico%"))
                 .thenReturn(List.of(tarea1, tarea2));
 
         // Act
@@ -184,7 +222,7 @@ class TareaServiceTest {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
 
-        when(tareaRepository.findByNombreContainingIgnoreCaseAndUsuario("inexistente", usuario))
+        when(tareaRepository.buscarPorNombre(1L, "inexistente", "%inexistente%"))
                 .thenReturn(List.of());
 
         // Act
@@ -209,7 +247,7 @@ class TareaServiceTest {
                 usuario
         );
 
-        when(tareaRepository.findByUsuario(usuario))
+        when(tareaRepository.buscarVistas(1L))
                 .thenReturn(List.of(tarea1, tarea2));
 
         // Act
@@ -217,7 +255,7 @@ class TareaServiceTest {
 
         // Assert
         assertThat(resultado).hasSize(2);
-        verify(tareaRepository).findByUsuario(usuario);
+        verify(tareaRepository).buscarVistas(1L);
     }
 
     @Test
@@ -226,7 +264,7 @@ class TareaServiceTest {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
 
-        when(tareaRepository.findByUsuario(usuario))
+        when(tareaRepository.buscarVistas(1L))
                 .thenReturn(List.of());
 
         // Act & Assert
@@ -321,6 +359,8 @@ class TareaServiceTest {
 
 
     // ==================== FILTRAR TAREAS ====================
+    // el filtro lo aplica la base (ver integration/TareaSpecificationTest): aca solo se prueba que el servicio
+    // pide la consulta y arma la respuesta con lo que devuelve el repositorio
 
     @Test
     @DisplayName("Filtrar tareas por nombre debe devolver coincidencias")
@@ -348,8 +388,9 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2));
+        // la base de datos ya devuelve solo las tareas que cumplen el filtro, ordenadas
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(tarea1));
 
         // Act
         var resultado = tareaService.filtrarTareas(filtro, usuario);
@@ -359,6 +400,26 @@ class TareaServiceTest {
         assertThat(resultado.get(0).nombre()).containsIgnoringCase("médico");
     }
 
+    @Test
+    @DisplayName("Filtrar tareas debe registrar cuántas tareas devolvió")
+    void filtrarTareasRegistraDevueltas() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var filtro = new DatosFiltroTarea(null, null, Importancia.ALTA, null, null, false, null, null, null);
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(
+                        new Tarea(new DatosCrearTarea("Tarea 1", "Desc", Importancia.ALTA, 1, null, null), usuario),
+                        new Tarea(new DatosCrearTarea("Tarea 2", "Desc", Importancia.ALTA, 2, null, null), usuario)));
+
+        // Act
+        tareaService.filtrarTareas(filtro, usuario);
+
+        // Assert
+        var devueltas = meterRegistry.get("tareas.filtrar.devueltas").summary();
+        assertThat(devueltas.count()).isEqualTo(1);
+        assertThat(devueltas.totalAmount()).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("Filtrar tareas por estado debe devolver solo tareas con ese estado")
     void filtrarTareasPorEstado() {
@@ -388,8 +449,9 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2));
+        // la base de datos ya devuelve solo las tareas que cumplen el filtro, ordenadas
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(tarea1));
 
         // Act
         var resultado = tareaService.filtrarTareas(filtro, usuario);
@@ -425,8 +487,9 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2));
+        // la base de datos ya devuelve solo las tareas que cumplen el filtro, ordenadas
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(tarea1));
 
         // Act
         var resultado = tareaService.filtrarTareas(filtro, usuario);
@@ -468,14 +531,15 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tareaVencida, tareaActiva));
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(tareaVencida));
 
         // Act
         var resultado = tareaService.filtrarTareas(filtro, usuario);
 
         // Assert
-        verify(tareaRepository).findByUsuario(usuario);
+        verify(tareaRepository).buscarOrdenadas(any(Specification.class), anyList());
+        verify(tareaRepository, never()).buscarVistas(1L);
     }
 
     @Test
@@ -495,7 +559,7 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
                 .thenReturn(List.of());
 
         // Act
@@ -534,8 +598,9 @@ class TareaServiceTest {
                 null
         );
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2));
+        // la base de datos ya devuelve solo las tareas que cumplen el filtro, ordenadas
+        when(tareaRepository.buscarOrdenadas(any(Specification.class), anyList()))
+                .thenReturn(List.of(tarea1));
 
         // Act
         var resultado = tareaService.filtrarTareas(filtro, usuario);
@@ -548,122 +613,448 @@ class TareaServiceTest {
     }
 
 
-    // ==================== OBTENER ESTADÍSTICAS ====================
+    // ==================== PAGINACION POR CURSOR ====================
 
     @Test
-    @DisplayName("Obtener estadísticas sin tareas debe devolver valores en cero")
-    void obtenerEstadisticasSinTareas() {
+    @DisplayName("Paginar tareas devuelve un cursor cuando hay mas tareas que el tamaño pedido")
+    void paginarTareasDevuelveCursorSiguiente() {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tareas = new ArrayList<VistaTarea>();
+        for (long i = 1; i <= 3; i++) {
+            var tarea = new Tarea(new DatosCrearTarea("Tarea " + i, "Desc", Importancia.ALTA, 5, null, null), usuario);
+            tarea.setId(i);
+            tarea.setFechaCreacion(LocalDateTime.now());
+            tareas.add(tarea);
+        }
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of());
+        // el servicio pide una tarea de mas (tamanio + 1) para saber si hay otra pagina
+        when(tareaRepository.buscarPagina(any(), any(), isNull(), eq(3))).thenReturn(tareas);
 
         // Act
-        var resultado = tareaService.obtenerEstadisticas(usuario);
+        var pagina = tareaService.obtenerPaginaTareas(usuario, null, 2);
 
         // Assert
-        assertThat(resultado.totalTareas()).isEqualTo(0);
-        assertThat(resultado.tareasCompletadas()).isEqualTo(0);
-        assertThat(resultado.tareasPendientes()).isEqualTo(0);
-        assertThat(resultado.porcentajeCompletado()).isEqualTo(0.0);
+        assertThat(pagina.tareas()).hasSize(2);
+        assertThat(pagina.hayMas()).isTrue();
+        assertThat(pagina.siguienteCursor()).isNotBlank();
     }
 
     @Test
-    @DisplayName("Obtener estadísticas debe contar correctamente por estado")
-    void obtenerEstadisticasConTareas() {
+    @DisplayName("El cursor de la pagina anterior se traduce en los valores de la ultima tarea entregada")
+    @SuppressWarnings("unchecked")
+    void paginarTareasConCursorBuscaDesdeLaUltimaTarea() {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var primera = new Tarea(new DatosCrearTarea("Primera", "Desc", Importancia.ALTA, 5, null, null), usuario);
+        primera.setId(7L);
+        var segunda = new Tarea(new DatosCrearTarea("Segunda", "Desc", Importancia.BAJA, 5, null, null), usuario);
+        segunda.setId(9L);
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, false, null, "nombre", "ASC");
 
-        var tarea1 = new Tarea(
-                new DatosCrearTarea("Tarea 1", "Desc 1", Importancia.ALTA, 5, null, null),
-                usuario
-        );
-        tarea1.setEstado(Estado.COMPLETADA);
-        tarea1.setId(1L);
+        when(tareaRepository.buscarPagina(any(), any(), isNull(), eq(2))).thenReturn(List.of(primera, segunda));
+        var cursor = tareaService.filtrarTareasPaginadas(filtro, usuario, null, 1).siguienteCursor();
 
-        var tarea2 = new Tarea(
-                new DatosCrearTarea("Tarea 2", "Desc 2", Importancia.MEDIA, 4, null, null),
-                usuario
-        );
-        tarea2.setEstado(Estado.PENDIENTE);
+        ArgumentCaptor<List<Comparable<?>>> desde = ArgumentCaptor.forClass(List.class);
+        when(tareaRepository.buscarPagina(any(), any(), desde.capture(), eq(2))).thenReturn(List.of(segunda));
+
+        // Act
+        var pagina = tareaService.filtrarTareasPaginadas(filtro, usuario, cursor, 1);
+
+        // Assert
+        assertThat(desde.getValue()).containsExactly("primera", 7L);
+        assertThat(pagina.tareas()).hasSize(1);
+        assertThat(pagina.hayMas()).isFalse();
+        assertThat(pagina.siguienteCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Un cursor generado con otro orden debe lanzar excepción de validación")
+    void paginarTareasConCursorDeOtroOrdenLanzaValidacion() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tarea1 = new Tarea(new DatosCrearTarea("Tarea 1", "Desc", Importancia.ALTA, 5, null, null), usuario);
+        tarea1.setId(1L);
+        var tarea2 = new Tarea(new DatosCrearTarea("Tarea 2", "Desc", Importancia.ALTA, 5, null, null), usuario);
         tarea2.setId(2L);
 
-        var tarea3 = new Tarea(
-                new DatosCrearTarea("Tarea 3", "Desc 3", Importancia.BAJA, 3, null, null),
-                usuario
-        );
-        tarea3.setEstado(Estado.EN_PROGRESO);
-        tarea3.setId(3L);
+        when(tareaRepository.buscarPagina(any(), any(), isNull(), eq(2))).thenReturn(List.of(tarea1, tarea2));
+        var cursorPorId = tareaService.obtenerPaginaTareas(usuario, null, 1).siguienteCursor();
+        var filtroPorNombre = new DatosFiltroTarea(null, null, null, null, null, false, null, "nombre", null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> tareaService.filtrarTareasPaginadas(filtroPorNombre, usuario, cursorPorId, 1))
+                .isInstanceOf(Validacion.class);
+        assertThatThrownBy(() -> tareaService.obtenerPaginaTareas(usuario, "no-es-un-cursor", 1))
+                .isInstanceOf(Validacion.class);
+    }
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2, tarea3));
+    @Test
+    @DisplayName("Pedir una página de tamaño 0 debe lanzar excepción de validación")
+    void paginarTareasConTamanioInvalidoLanzaValidacion() {
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+
+        assertThatThrownBy(() -> tareaService.obtenerPaginaTareas(usuario, null, 0))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("El tamaño de página debe ser mayor a 0");
+    }
+
+
+    // ==================== OBTENER ESTADÍSTICAS ====================
+
+    @Test
+    @DisplayName("Obtener estadísticas lee los contadores mantenidos del usuario")
+    void obtenerEstadisticasLeeContadores() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var estadisticas = new DatosEstadisticasTarea(
+                1L, 1L, 0L, 0L, 0L, 0L, 1L, 1L,
+                Map.of("COMPLETADA", 1L), Map.of("ALTA", 1L),
+                100.0, 0.0, 0.0, 0.0, 0.0
+        );
+        when(estadisticaUsuarioService.obtener(1L, LocalDate.now())).thenReturn(estadisticas);
 
         // Act
         var resultado = tareaService.obtenerEstadisticas(usuario);
 
         // Assert
-        assertThat(resultado.totalTareas()).isEqualTo(3);
-        assertThat(resultado.tareasCompletadas()).isEqualTo(1);
-        assertThat(resultado.tareasPendientes()).isEqualTo(1);
-        assertThat(resultado.tareasEnProgreso()).isEqualTo(1);
-        assertThat(resultado.porcentajeCompletado()).isEqualTo(33.33);
+        assertThat(resultado).isEqualTo(estadisticas);
+        verify(tareaRepository, never()).buscarVistas(1L);
     }
 
+    // ==================== CONTADORES DE ESTADÍSTICAS ====================
+
     @Test
-    @DisplayName("Obtener estadísticas debe contar tareas vencidas correctamente")
-    void obtenerEstadisticasConTareasVencidas() {
+    @DisplayName("Crear tarea suma una tarea pendiente a los contadores del usuario")
+    void crearTareaActualizaContadores() {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
-        LocalDate haceDias = LocalDate.now().minusDays(5);
+        var datosCrearTarea = new DatosCrearTarea("Nueva", "Desc", Importancia.MEDIA, 5, null, null);
+        ArgumentCaptor<DeltaEstadistica> delta = ArgumentCaptor.forClass(DeltaEstadistica.class);
 
-        var tareaVencida = new Tarea(
-                new DatosCrearTarea("Tarea vencida", "Desc", Importancia.ALTA, 5, null, null),
-                usuario
-        );
-        tareaVencida.setEstado(Estado.PENDIENTE);
-        tareaVencida.setId(1L);
+        // Act
+        tareaService.crearTarea(datosCrearTarea, usuario);
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tareaVencida));
+        // Assert
+        verify(estadisticaUsuarioService).aplicar(eq(1L), any(), delta.capture());
+        assertThat(delta.getValue().total()).isEqualTo(1);
+        assertThat(delta.getValue().pendientes()).isEqualTo(1);
+        assertThat(delta.getValue().importanciaMedia()).isEqualTo(1);
+        assertThat(delta.getValue().vencidas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Completar una tarea mueve el contador de pendientes a completadas")
+    void editarTareaAplicaTransicionDeEstado() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tarea = new Tarea(new DatosCrearTarea("Tarea", "Desc", Importancia.BAJA, 3, null, null), usuario);
+        tarea.setId(1L);
+        tarea.setFechaCreacion(LocalDateTime.now());
+        var datosActualizar = new DatosActualizarTarea("Tarea", "Desc", Estado.COMPLETADA, Importancia.ALTA, 3, null, null);
+        ArgumentCaptor<DeltaEstadistica> delta = ArgumentCaptor.forClass(DeltaEstadistica.class);
+
+        when(tareaRepository.findByIdAndUsuario(1L, usuario)).thenReturn(Optional.of(tarea));
 
         // Act
-        var resultado = tareaService.obtenerEstadisticas(usuario);
+        tareaService.editarTarea(datosActualizar, usuario, 1L);
 
         // Assert
-        assertThat(resultado.totalTareas()).isEqualTo(1);
-        verify(tareaRepository).findByUsuario(usuario);
+        verify(estadisticaUsuarioService).aplicar(eq(1L), any(), delta.capture());
+        assertThat(delta.getValue().total()).isZero();
+        assertThat(delta.getValue().pendientes()).isEqualTo(-1);
+        assertThat(delta.getValue().completadas()).isEqualTo(1);
+        assertThat(delta.getValue().importanciaBaja()).isEqualTo(-1);
+        assertThat(delta.getValue().importanciaAlta()).isEqualTo(1);
+        assertThat(delta.getValue().completadasHoy()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("Obtener estadísticas debe agrupar correctamente por estado e importancia")
-    void obtenerEstadisticasAgrupamientos() {
+    @DisplayName("Eliminar una tarea vencida la resta de los contadores")
+    void eliminarTareaRestaDeLosContadores() {
         // Arrange
         var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tarea = new Tarea(new DatosCrearTarea("Vencida", "Desc", Importancia.ALTA, 2, null, null), usuario);
+        tarea.setId(1L);
+        tarea.setFechaVencimiento(LocalDate.now().minusDays(3));
+        ArgumentCaptor<DeltaEstadistica> delta = ArgumentCaptor.forClass(DeltaEstadistica.class);
 
-        var tarea1 = new Tarea(
-                new DatosCrearTarea("Tarea 1", "Desc 1", Importancia.ALTA, 5, null, null),
-                usuario
+        when(tareaRepository.findByIdAndUsuario(1L, usuario)).thenReturn(Optional.of(tarea));
+
+        // Act
+        tareaService.eliminarTarea(1L, usuario);
+
+        // Assert
+        verify(estadisticaUsuarioService).aplicar(eq(1L), any(), delta.capture());
+        assertThat(delta.getValue().total()).isEqualTo(-1);
+        assertThat(delta.getValue().pendientes()).isEqualTo(-1);
+        assertThat(delta.getValue().vencidas()).isEqualTo(-1);
+    }
+
+    // ==================== CREAR EN LOTE ====================
+
+    @Test
+    @DisplayName("Crear tareas en lote informa el resultado de cada una y rechaza los nombres repetidos")
+    void crearTareasEnLote() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var lote = List.of(
+                new DatosCrearTarea("Nueva", "Desc", Importancia.ALTA, 2, null, null),
+                new DatosCrearTarea("Existente", "Desc", Importancia.MEDIA, 3, null, null),
+                new DatosCrearTarea("Nueva", "Repetida en el lote", Importancia.BAJA, 1, null, null),
+                new DatosCrearTarea("Otra", "Desc", Importancia.BAJA, 4, null, null)
         );
-        tarea1.setEstado(Estado.COMPLETADA);
-        tarea1.setId(1L);
 
-        var tarea2 = new Tarea(
-                new DatosCrearTarea("Tarea 2", "Desc 2", Importancia.ALTA, 4, null, null),
-                usuario
+        when(tareaRepository.buscarNombresExistentes(eq(1L), anyCollection())).thenReturn(List.of("Existente"));
+
+        // Act
+        var resultado = tareaService.crearTareas(lote, usuario);
+
+        // Assert
+        assertThat(resultado.creadas()).isEqualTo(2);
+        assertThat(resultado.rechazadas()).isEqualTo(2);
+        assertThat(resultado.resultados()).extracting(DatosResultadoItemLote::estado).containsExactly(
+                EstadoItemLote.CREADA, EstadoItemLote.DUPLICADA, EstadoItemLote.DUPLICADA, EstadoItemLote.CREADA);
+        assertThat(resultado.resultados()).extracting(DatosResultadoItemLote::indice).containsExactly(0, 1, 2, 3);
+        // una sola consulta para todos los nombres
+        verify(tareaRepository, times(1)).buscarNombresExistentes(eq(1L), anyCollection());
+        verify(tareaRepository, never()).existsByUsuarioIdAndNombre(any(), any());
+    }
+
+    @Test
+    @DisplayName("Una tarea inválida se rechaza sin cancelar el resto del lote")
+    void crearTareasEnLoteConTareaInvalida() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var lote = List.of(
+                new DatosCrearTarea("Sin descripcion", "", Importancia.ALTA, 2, null, null),
+                new DatosCrearTarea("Valida", "Desc", Importancia.ALTA, 2, null, null)
         );
-        tarea2.setEstado(Estado.PENDIENTE);
-        tarea2.setId(2L);
+        ArgumentCaptor<List<Tarea>> guardadas = ArgumentCaptor.forClass(List.class);
 
-        when(tareaRepository.findByUsuario(usuario))
-                .thenReturn(List.of(tarea1, tarea2));
+        when(tareaRepository.buscarNombresExistentes(eq(1L), anyCollection())).thenReturn(List.of());
 
         // Act
-        var resultado = tareaService.obtenerEstadisticas(usuario);
+        var resultado = tareaService.crearTareas(lote, usuario);
+
+        // Assert
+        assertThat(resultado.resultados().get(0).estado()).isEqualTo(EstadoItemLote.INVALIDA);
+        assertThat(resultado.resultados().get(0).mensaje()).startsWith("descripcion");
+        assertThat(resultado.resultados().get(1).estado()).isEqualTo(EstadoItemLote.CREADA);
+        verify(tareaRepository).saveAll(guardadas.capture());
+        assertThat(guardadas.getValue()).extracting(Tarea::getNombre).containsExactly("Valida");
+    }
+
+    @Test
+    @DisplayName("Crear tareas en lote ajusta las estadísticas una sola vez con la suma de todas")
+    void crearTareasEnLoteAplicaUnSoloDelta() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var lote = List.of(
+                new DatosCrearTarea("Uno", "Desc", Importancia.ALTA, 2, null, null),
+                new DatosCrearTarea("Dos", "Desc", Importancia.ALTA, 2, null, null),
+                new DatosCrearTarea("Tres", "Desc", Importancia.BAJA, 2, null, null)
+        );
+        ArgumentCaptor<DeltaEstadistica> delta = ArgumentCaptor.forClass(DeltaEstadistica.class);
+
+        when(tareaRepository.buscarNombresExistentes(eq(1L), anyCollection())).thenReturn(List.of());
+
+        // Act
+        tareaService.crearTareas(lote, usuario);
+
+        // Assert
+        verify(estadisticaUsuarioService, times(1)).aplicar(eq(1L), any(), delta.capture());
+        verify(versionTareasService, times(1)).incrementar(1L);
+        assertThat(delta.getValue().total()).isEqualTo(3);
+        assertThat(delta.getValue().pendientes()).isEqualTo(3);
+        assertThat(delta.getValue().importanciaAlta()).isEqualTo(2);
+        assertThat(delta.getValue().importanciaBaja()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un lote vacío debe lanzar excepción de validación")
+    void crearTareasEnLoteVacio() {
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+
+        assertThatThrownBy(() -> tareaService.crearTareas(List.of(), usuario))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("El lote no tiene tareas");
+        verify(tareaRepository, never()).saveAll(any());
+    }
+
+    // ==================== CAMBIOS MASIVOS ====================
+
+    @Test
+    @DisplayName("Cambiar el estado de varias tareas por ids ejecuta un solo UPDATE y recalcula las estadísticas")
+    void cambiarEstadoPorIds() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var datos = new DatosCambioEstadoLote(List.of(1L, 2L, 3L), null, Estado.COMPLETADA);
+
+        when(tareaRepository.actualizarEstado(any(Specification.class), eq(Estado.COMPLETADA), any(LocalDateTime.class)))
+                .thenReturn(3);
+
+        // Act
+        var resultado = tareaService.cambiarEstado(datos, usuario);
+
+        // Assert
+        assertThat(resultado.modificadas()).isEqualTo(3);
+        verify(estadisticaUsuarioService).recalcular(eq(1L), any(LocalDate.class));
+        verify(versionTareasService).incrementar(1L);
+        verify(tareaRepository, never()).findByIdAndUsuario(any(), any());
+    }
+
+    @Test
+    @DisplayName("Si ninguna tarea cambia de estado no se recalculan las estadísticas")
+    void cambiarEstadoSinCambios() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, true, null, null, null);
+        var datos = new DatosCambioEstadoLote(null, filtro, Estado.CANCELADA);
+
+        when(tareaRepository.actualizarEstado(any(Specification.class), eq(Estado.CANCELADA), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        // Act
+        var resultado = tareaService.cambiarEstado(datos, usuario);
+
+        // Assert
+        assertThat(resultado.modificadas()).isZero();
+        verify(estadisticaUsuarioService, never()).recalcular(any(), any());
+        verifyNoInteractions(versionTareasService);
+    }
+
+    @Test
+    @DisplayName("Un cambio masivo debe indicar ids o filtro, pero no ambos")
+    void cambioMasivoSinSeleccionLanzaValidacion() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var filtro = new DatosFiltroTarea(null, null, null, null, null, true, null, null, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> tareaService.cambiarEstado(new DatosCambioEstadoLote(null, null, Estado.CANCELADA), usuario))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("Debe indicar los ids de las tareas o un filtro");
+        assertThatThrownBy(() -> tareaService.eliminarTareas(new DatosSeleccionTareas(List.of(1L), filtro), usuario))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("Debe indicar los ids de las tareas o un filtro");
+        verify(tareaRepository, never()).eliminar(any());
+    }
+
+    @Test
+    @DisplayName("Eliminar varias tareas por filtro ejecuta un solo DELETE y recalcula las estadísticas")
+    void eliminarTareasPorFiltro() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var filtro = new DatosFiltroTarea(null, Estado.CANCELADA, null, null, null, false, null, null, null);
+
+        when(tareaRepository.eliminar(any(Specification.class))).thenReturn(4);
+
+        // Act
+        var resultado = tareaService.eliminarTareas(new DatosSeleccionTareas(null, filtro), usuario);
+
+        // Assert
+        assertThat(resultado.modificadas()).isEqualTo(4);
+        verify(estadisticaUsuarioService).recalcular(eq(1L), any(LocalDate.class));
+        verify(tareaRepository, never()).delete(any(Tarea.class));
+    }
+
+    // ==================== VERSION (ETAG) ====================
+
+    @Test
+    @DisplayName("Editar y eliminar una tarea cambian la versión de las tareas del usuario")
+    void editarYEliminarIncrementanVersion() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tarea = new Tarea(new DatosCrearTarea("Tarea", "Desc", Importancia.MEDIA, 3, null, null), usuario);
+        tarea.setId(1L);
+        tarea.setFechaCreacion(LocalDateTime.now());
+        var datos = new DatosActualizarTarea("Tarea", "Otra desc", Estado.PENDIENTE, Importancia.MEDIA, 3, null, null);
+
+        when(tareaRepository.findByIdAndUsuario(1L, usuario)).thenReturn(Optional.of(tarea));
+
+        // Act
+        tareaService.editarTarea(datos, usuario, 1L);
+        tareaService.eliminarTarea(1L, usuario);
+
+        // Assert
+        verify(versionTareasService, times(2)).incrementar(1L);
+    }
+
+    @Test
+    @DisplayName("Un lote sin tareas creadas no cambia la versión")
+    void loteSinCreadasNoIncrementaVersion() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var lote = List.of(new DatosCrearTarea("Existente", "Desc", Importancia.MEDIA, 3, null, null));
+
+        when(tareaRepository.buscarNombresExistentes(eq(1L), anyCollection())).thenReturn(List.of("Existente"));
+
+        // Act
+        var resultado = tareaService.crearTareas(lote, usuario);
+
+        // Assert
+        assertThat(resultado.creadas()).isZero();
+        verifyNoInteractions(versionTareasService);
+    }
+
+    // ==================== EVENTOS (STREAM) ====================
+
+    @Test
+    @DisplayName("Crear una tarea publica un evento CREADA con la tarea")
+    void crearTareaPublicaEvento() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var datos = new DatosCrearTarea("Hacer ejercicio", "Rutina de piernas", Importancia.ALTA, 5, null, null);
+        ArgumentCaptor<EventoTarea> evento = ArgumentCaptor.forClass(EventoTarea.class);
+
+        when(tareaRepository.existsByUsuarioIdAndNombre(1L, "Hacer ejercicio")).thenReturn(false);
+
+        // Act
+        tareaService.crearTarea(datos, usuario);
+
+        // Assert
+        verify(eventos).publishEvent(evento.capture());
+        assertThat(evento.getValue().tipo()).isEqualTo(TipoEventoTarea.CREADA);
+        assertThat(evento.getValue().usuarioId()).isEqualTo(1L);
+        assertThat(evento.getValue().tarea().nombre()).isEqualTo("Hacer ejercicio");
+    }
+
+    @Test
+    @DisplayName("Eliminar una tarea publica un evento ELIMINADA con su id")
+    void eliminarTareaPublicaEvento() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var tarea = new Tarea(new DatosCrearTarea("Tarea", "Desc", Importancia.MEDIA, 3, null, null), usuario);
+        tarea.setId(9L);
+        ArgumentCaptor<EventoTarea> evento = ArgumentCaptor.forClass(EventoTarea.class);
+
+        when(tareaRepository.findByIdAndUsuario(9L, usuario)).thenReturn(Optional.of(tarea));
+
+        // Act
+        tareaService.eliminarTarea(9L, usuario);
+
+        // Assert
+        verify(eventos).publishEvent(evento.capture());
+        assertThat(evento.getValue().tipo()).isEqualTo(TipoEventoTarea.ELIMINADA);
+        assertThat(evento.getValue().tareaId()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("Un cambio masivo publica un solo evento RESINCRONIZAR")
+    void cambioMasivoPublicaResincronizar() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        ArgumentCaptor<EventoTarea> evento = ArgumentCaptor.forClass(EventoTarea.class);
+
+        when(tareaRepository.eliminar(any(Specification.class))).thenReturn(25);
+
+        // Act
+        tareaService.eliminarTareas(new DatosSeleccionTareas(List.of(1L, 2L), null), usuario);
 
         // Assert
-        assertThat(resultado.tareasPorEstado()).containsKeys("COMPLETADA", "PENDIENTE");
-        assertThat(resultado.tareasPorImportancia()).containsKey("ALTA");
+        verify(eventos, times(1)).publishEvent(evento.capture());
+        assertThat(evento.getValue().tipo()).isEqualTo(TipoEventoTarea.RESINCRONIZAR);
     }
 
 }
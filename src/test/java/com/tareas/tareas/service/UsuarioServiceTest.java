@@ -8,16 +8,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +32,12 @@ class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Spy
+    private CachePrincipales cachePrincipales = new CachePrincipales(Duration.ofMinutes(5), 100);
+
+    @Mock
+    private TokenRefrescoService tokenRefrescoService;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -197,6 +208,59 @@ class UsuarioServiceTest {
     }
 
 
+    @Test
+    @DisplayName("Listar resumen de usuarios debe paginar por id y devolver el cursor siguiente")
+    void listarResumenUsuariosConPaginaSiguiente() {
+        // Arrange
+        when(usuarioRepository.resumirDesde(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new DatosResumenUsuario(1L, "ema", "clementi", "emi@gmail.com", Role.USER, 3L),
+                new DatosResumenUsuario(2L, "juan", "perez", "juan@gmail.com", Role.USER, 0L),
+                new DatosResumenUsuario(5L, "ana", "gomez", "ana@gmail.com", Role.ADMIN, 1L)
+        ));
+
+        // Act
+        var resultado = usuarioService.listarResumenUsuarios(null, 2);
+
+        // Assert
+        assertThat(resultado.usuarios()).extracting(DatosResumenUsuario::id).containsExactly(1L, 2L);
+        assertThat(resultado.usuarios().get(0).cantidadTareas()).isEqualTo(3L);
+        assertThat(resultado.hayMas()).isTrue();
+        assertThat(resultado.siguienteCursor()).isEqualTo("2");
+        verify(usuarioRepository).resumirDesde(0L, Limit.of(3));
+        verify(usuarioRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Listar resumen de usuarios desde un cursor debe seguir despues de ese id")
+    void listarResumenUsuariosUltimaPagina() {
+        // Arrange
+        when(usuarioRepository.resumirDesde(eq(2L), any(Limit.class))).thenReturn(List.of(
+                new DatosResumenUsuario(5L, "ana", "gomez", "ana@gmail.com", Role.ADMIN, 1L)
+        ));
+
+        // Act
+        var resultado = usuarioService.listarResumenUsuarios("2", null);
+
+        // Assert
+        assertThat(resultado.usuarios()).hasSize(1);
+        assertThat(resultado.hayMas()).isFalse();
+        assertThat(resultado.siguienteCursor()).isNull();
+        verify(usuarioRepository).resumirDesde(2L, Limit.of(21));
+    }
+
+    @Test
+    @DisplayName("Listar resumen de usuarios con cursor o tamaño inválido debe lanzar excepción de validación")
+    void listarResumenUsuariosParametrosInvalidos() {
+        // Act & Assert
+        assertThatThrownBy(() -> usuarioService.listarResumenUsuarios("abc", 10))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("El cursor no es válido");
+        assertThatThrownBy(() -> usuarioService.listarResumenUsuarios(null, 0))
+                .isInstanceOf(Validacion.class)
+                .hasMessage("El tamaño de página debe ser mayor a 0");
+    }
+
+
     @Test
     @DisplayName("Editar usuario existente debe actualizar los datos")
     void editarUsuarioExitoso() {
@@ -222,6 +286,22 @@ class UsuarioServiceTest {
         verify(usuarioRepository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Editar usuario debe revocar sus refresh tokens")
+    void editarUsuarioRevocaRefreshTokens() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        var datosActualizar = new DatosActualizarUsuario(1L, "ema", "clementi", "emi@gmail.com", "nueva1234");
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act
+        usuarioService.modificarUsuario(datosActualizar);
+
+        // Assert
+        verify(tokenRefrescoService).revocarDelUsuario(1L);
+    }
+
     @Test
     @DisplayName("Editar usuario que no existe debe lanzar excepción de validación")
     void editarUsuarioNoExistenteLanzaValidacion() {
@@ -385,4 +465,76 @@ class UsuarioServiceTest {
         assertThat(resultado.getTareas()).hasSize(2);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Obtener usuario autenticado debe usar el principal sin consultar la base de datos")
+    void obtenerUsuarioAutenticadoDesdePrincipal() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication())
+                .thenReturn(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+        SecurityContextHolder.setContext(securityContext);
+
+        // Act
+        var resultado = usuarioService.getUsuarioAutenticado();
+
+        // Assert
+        assertThat(resultado).isSameAs(usuario);
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    @DisplayName("Obtener usuario autenticado dos veces debe consultar la base de datos una sola vez")
+    void obtenerUsuarioAutenticadoUsaCache() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        Authentication auth = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(auth);
+        when(auth.getName()).thenReturn("emi@gmail.com");
+        when(usuarioRepository.findByEmail("emi@gmail.com")).thenReturn(usuario);
+        SecurityContextHolder.setContext(securityContext);
+
+        // Act
+        usuarioService.getUsuarioAutenticado();
+        var resultado = usuarioService.getUsuarioAutenticado();
+
+        // Assert
+        assertThat(resultado).isSameAs(usuario);
+        verify(usuarioRepository, times(1)).findByEmail("emi@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Editar usuario debe invalidar la cache para el email anterior y el nuevo")
+    void editarUsuarioInvalidaCache() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        cachePrincipales.obtener("emi@gmail.com", email -> usuario);
+        var datosActualizar = new DatosActualizarUsuario(1L, "ema", "clementi", "emi.nuevo@gmail.com", "password1234");
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act
+        usuarioService.modificarUsuario(datosActualizar);
+
+        // Assert
+        verify(cachePrincipales).invalidar("emi@gmail.com");
+        verify(cachePrincipales).invalidar("emi.nuevo@gmail.com");
+        assertThat(cachePrincipales.obtener("emi@gmail.com", email -> null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Eliminar usuario debe quitarlo de la cache")
+    void eliminarUsuarioInvalidaCache() {
+        // Arrange
+        var usuario = new Usuario(1L, "ema", "clementi", "emi@gmail.com", "123456", Role.USER, null);
+        cachePrincipales.obtener("emi@gmail.com", email -> usuario);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act
+        usuarioService.eliminarUsuario(1L);
+
+        // Assert
+        assertThat(cachePrincipales.obtener("emi@gmail.com", email -> null)).isNull();
+    }
+
+}